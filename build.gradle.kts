@@ -14,6 +14,16 @@ tasks.register("checkstyle") {
     description = "Checks the style of all Java sourcecode."
 }
 
+tasks.register("benchmarkEngines") {
+    dependsOn(":groovy223-apps:HelloJoltJniBench",
+            ":jruby-apps:HelloJoltJniBench",
+            ":jython-apps:HelloJoltJniBench",
+            ":luaj-apps:HelloJoltJniBench",
+            ":luajava-apps:HelloJoltJniBench",
+            ":nashorn-apps:HelloJoltJniBench")
+    description = "Benchmarks the HelloJoltJni port for each script engine."
+}
+
 diktat {
     diktatConfigFile = file(rootDir.path + "/config/diktat.yml")
     inputs {
@@ -23,6 +23,11 @@ tasks.register<JavaExec>("HelloJoltJni") {
     args("groovy", "scripts/console/HelloJoltJni.groovy")
     description = "Runs the Groovy port of the HelloJoltJni console app."
 }
+tasks.register<JavaExec>("HelloJoltJniBench") {
+    args("--bench", "5",
+         "groovy", "scripts/bench/HelloJoltJniBench.groovy")
+    description = "Benchmarks the Groovy port of the HelloJoltJni console app."
+}
 
 // physics tutorial apps (very simple)
 tasks.register<JavaExec>("HelloRigidBody") {
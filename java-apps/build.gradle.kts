@@ -36,6 +36,51 @@ tasks.register<JavaExec>("HelloJoltJni") {
     mainClass = "com.github.stephengold.sportjolt.javaapp.sample.console.HelloJoltJni"
 }
 
+// physics benchmark apps (no graphics)
+tasks.register<JavaExec>("VariantBenchmark") {
+    description = "Runs the VariantBenchmark app using the fastest supported native library."
+    mainClass = "com.github.stephengold.sportjolt.javaapp.bench.VariantBenchmark"
+}
+tasks.register<JavaExec>("VariantBenchmarkBaseline") {
+    description = "Runs the VariantBenchmark app using the baseline native library."
+    mainClass = "com.github.stephengold.sportjolt.javaapp.bench.VariantBenchmark"
+    systemProperty("joltjni.variant", "baseline")
+}
+
+tasks.register<JavaExec>("StartupBenchmark") {
+    description = "Runs the StartupBenchmark app."
+    mainClass = "com.github.stephengold.sportjolt.javaapp.bench.StartupBenchmark"
+}
+tasks.register<JavaExec>("StartupBenchmarkCds") {
+    dependsOn("dumpCdsArchive")
+    description = "Runs the StartupBenchmark app using the AppCDS archive."
+    mainClass = "com.github.stephengold.sportjolt.javaapp.bench.StartupBenchmark"
+}
+
+tasks.register<JavaExec>("MeshChunkBenchmark") {
+    description = "Runs the MeshChunkBenchmark app."
+    mainClass = "com.github.stephengold.sportjolt.javaapp.bench.MeshChunkBenchmark"
+}
+
+tasks.register<JavaExec>("CollisionCostBenchmark") {
+    description = "Runs the CollisionCostBenchmark app."
+    mainClass = "com.github.stephengold.sportjolt.javaapp.bench.CollisionCostBenchmark"
+}
+
+tasks.register<JavaExec>("BroadPhaseQueryBenchmark") {
+    description = "Runs the BroadPhaseQueryBenchmark app."
+    mainClass = "com.github.stephengold.sportjolt.javaapp.bench.BroadPhaseQueryBenchmark"
+}
+
+tasks.register<JavaExec>("BroadPhaseLayerBenchmark") {
+    description = "Runs the BroadPhaseLayerBenchmark app."
+    mainClass = "com.github.stephengold.sportjolt.javaapp.bench.BroadPhaseLayerBenchmark"
+}
+tasks.register<JavaExec>("BroadPhaseStreamingBenchmark") {
+    description = "Runs the BroadPhaseStreamingBenchmark app."
+    mainClass = "com.github.stephengold.sportjolt.javaapp.bench.BroadPhaseStreamingBenchmark"
+}
+
 // physics tutorial apps (very simple)
 tasks.register<JavaExec>("HelloBroadPhase") {
     description = "Runs the HelloBroadPhase tutorial app."
@@ -150,6 +195,24 @@ val includeMacOsX = os.isMacOsX
 val includeWindows = os.isWindows
 val enableNativeAccess = JavaVersion.current().isCompatibleWith(JavaVersion.VERSION_17)
 
+// AppCDS archive of the classes loaded by StartupBenchmark (requires JDK 13+):
+val cdsArchive = layout.buildDirectory.file("cds/java-apps.jsa").get().asFile
+val enableCds = JavaVersion.current().isCompatibleWith(JavaVersion.VERSION_13)
+// Classes missing from the archive load from the classpath as usual, so every
+// task can use it except the one that dumps it and the no-CDS baseline:
+val tasksWithoutCds = setOf("dumpCdsArchive", "StartupBenchmark")
+
+tasks.register<JavaExec>("dumpCdsArchive") {
+    description = "Dumps an AppCDS archive for faster launches of the java-apps."
+    enabled = enableCds
+    mainClass = "com.github.stephengold.sportjolt.javaapp.bench.StartupBenchmark"
+    outputs.file(cdsArchive)
+    doFirst {
+        cdsArchive.parentFile.mkdirs()
+    }
+    jvmArgs("-XX:ArchiveClassesAtExit=" + cdsArchive.path)
+}
+
 tasks.withType<JavaExec>().configureEach { // JVM runtime options:
     if (os.isLinux) {
         environment("__GL_THREADED_OPTIMIZATIONS", "0") // see lwjgl3 issue #1071
@@ -163,6 +226,13 @@ tasks.withType<JavaExec>().configureEach { // JVM runtime options:
         jvmArgs("--enable-native-access=ALL-UNNAMED") // suppress System::load() warning
     }
     jvmArgs("-XX:+UseG1GC", "-XX:MaxGCPauseMillis=10")
+    if (enableCds && name !in tasksWithoutCds) {
+        doFirst { // use the AppCDS archive if it has been dumped
+            if (cdsArchive.exists()) {
+                jvmArgs("-XX:SharedArchiveFile=" + cdsArchive.path)
+            }
+        }
+    }
 }
 
 // which BTF (build type + flavor) of native physics libraries to include:
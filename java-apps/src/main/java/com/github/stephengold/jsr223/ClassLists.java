@@ -0,0 +1,319 @@
+/*
+ Copyright (c) 2026 Stephen Gold and Yanis Boudiaf
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+    list of conditions and the following disclaimer.
+
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+    this list of conditions and the following disclaimer in the documentation
+    and/or other materials provided with the distribution.
+
+ 3. Neither the name of the copyright holder nor the names of its
+    contributors may be used to endorse or promote products derived from
+    this software without specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.github.stephengold.jsr223;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import jdk.dynalink.beans.StaticClass;
+
+/**
+ * Utility methods to read lists of Java classes and generate the code that
+ * imports them into a JSR-223 script engine.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+final class ClassLists {
+    // *************************************************************************
+    // constants
+
+    /**
+     * version of the rules for generating import snippets, recorded in the
+     * first line of each cached preamble: increment this whenever
+     * {@link #importSnippet(java.lang.String, java.lang.String)} changes, so
+     * that stale preambles get regenerated
+     */
+    final private static int generatorVersion = 1;
+    // *************************************************************************
+    // constructors
+
+    /**
+     * A private constructor to inhibit instantiation of this class.
+     */
+    private ClassLists() {
+        // do nothing
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Generate a code snippet to import the specified Java class into a
+     * script engine.
+     *
+     * @param factoryName the short name of the script-engine factory (not
+     * null)
+     * @param fullName the full name of the class to import (not null)
+     * @return the snippet (not null, not empty), or null if the class should
+     * not be imported
+     */
+    static String importSnippet(String factoryName, String fullName) {
+        int lastDotPos = fullName.lastIndexOf('.');
+        assert lastDotPos >= 0 : lastDotPos;
+        String packageName = fullName.substring(0, lastDotPos);
+        String simpleName = fullName.substring(lastDotPos + 1);
+
+        String result;
+        switch (factoryName) {
+            case "jruby":
+                if (simpleName.equals("Geometry")
+                        || simpleName.equals("Mutex")) { // conflicting constant
+                    return null;
+                }
+                result = String.format(
+                        "java_import Java::%s", firstToUpper(fullName));
+                break;
+
+            case "jython":
+                result = String.format(
+                        "from %s import %s", packageName, simpleName);
+                break;
+
+            case "lua54":
+                return null;
+
+            case "luaj":
+                result = String.format(
+                        "%s = luajava.bindClass(\"%s\")", simpleName, fullName);
+                break;
+
+            case "nashorn":
+                result = String.format(
+                        "var %s = Java.type('%s');", simpleName, fullName);
+                break;
+
+            default:
+                throw new IllegalStateException("factoryName = " + factoryName);
+        }
+
+        return result;
+    }
+
+    /**
+     * Index the classes named in the specified lists by simple name. If 2
+     * classes share a simple name, the first one listed wins.
+     *
+     * @param classListPaths the names of the class-list files (not null)
+     * @return a new map from simple names to full names
+     * @throws IOException if a list can't be read
+     */
+    static Map<String, String> index(String... classListPaths)
+            throws IOException {
+        Map<String, String> result = new HashMap<>(1_024);
+        for (String classListFilePath : classListPaths) {
+            for (String fullName : read(classListFilePath)) {
+                int lastDotPos = fullName.lastIndexOf('.');
+                String simpleName = fullName.substring(lastDotPos + 1);
+                result.putIfAbsent(simpleName, fullName);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Return the function that converts each class loaded on demand to the
+     * value bound to its simple name, for use with {@code LazyClassBindings}.
+     *
+     * @param factoryName the short name of the script-engine factory (not
+     * null)
+     * @return a function, or null if the engine doesn't support lazy binding
+     */
+    static Function<Class<?>, Object> lazyConverter(String factoryName) {
+        Function<Class<?>, Object> result;
+        switch (factoryName) {
+            case "jython": // Jython converts classes to Python types
+                result = (loadedClass) -> loadedClass;
+                break;
+
+            case "nashorn": // Nashorn requires a StaticClass to instantiate
+                result = StaticClass::forClass;
+                break;
+
+            default:
+                result = null;
+        }
+
+        return result;
+    }
+
+    /**
+     * Return a single script that imports every class in the specified list.
+     * The script is cached in the same directory as the list and regenerated
+     * whenever the list is modified or the rules for generating import
+     * snippets change. The cache is replaced atomically, so concurrent
+     * launches never read a partially written preamble.
+     *
+     * @param factoryName the short name of the script-engine factory (not
+     * null)
+     * @param classListFilePath the name of the class-list file (not null)
+     * @return the script (not null, empty for "lua54", which doesn't import
+     * classes)
+     * @throws IOException if the list can't be read
+     */
+    static String preamble(String factoryName, String classListFilePath)
+            throws IOException {
+        if (factoryName.equals("lua54")) {
+            return "";
+        }
+        String header = commentPrefix(factoryName)
+                + " generated by ClassLists v" + generatorVersion + "\n";
+
+        // Re-use the cached preamble, if it's up to date:
+        File listFile = new File(classListFilePath);
+        File preambleFile
+                = new File(classListFilePath + "." + factoryName + ".preamble");
+        if (listFile.isFile()
+                && preambleFile.lastModified() >= listFile.lastModified()) {
+            try {
+                byte[] bytes = Files.readAllBytes(preambleFile.toPath());
+                String result = new String(bytes, StandardCharsets.UTF_8);
+                if (result.startsWith(header)) {
+                    return result;
+                }
+            } catch (IOException exception) {
+                // regenerate the preamble
+            }
+        }
+
+        // Generate the preamble and cache it:
+        List<String> fullNames = read(classListFilePath);
+        StringBuilder builder = new StringBuilder(64 * fullNames.size());
+        builder.append(header);
+        for (String fullName : fullNames) {
+            String codeSnippet = importSnippet(factoryName, fullName);
+            if (codeSnippet != null) {
+                builder.append(codeSnippet).append('\n');
+            }
+        }
+        String result = builder.toString();
+        Path preamblePath = preambleFile.toPath().toAbsolutePath();
+        Path tmpPath = null;
+        try {
+            tmpPath = Files.createTempFile(
+                    preamblePath.getParent(), "preamble", ".tmp");
+            Files.write(tmpPath, result.getBytes(StandardCharsets.UTF_8));
+            Files.move(tmpPath, preamblePath, StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING);
+
+        } catch (IOException exception) {
+            System.err.println("Failed to cache the preamble:  \""
+                    + preambleFile + "\"");
+        } finally {
+            if (tmpPath != null) {
+                try {
+                    Files.deleteIfExists(tmpPath);
+                } catch (IOException exception) {
+                    // leave the temporary file for the next cleanup
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Read a list of Java classes, one full name per line.
+     *
+     * @param classListFilePath the name of the input file (not null)
+     * @return a new list of full class names
+     * @throws IOException if the file can't be read
+     */
+    static List<String> read(String classListFilePath) throws IOException {
+        List<String> lines = Files.readAllLines(
+                new File(classListFilePath).toPath(), StandardCharsets.UTF_8);
+        List<String> result = new ArrayList<>(lines.size());
+        for (String fullName : lines) {
+            if (!fullName.isEmpty()) {
+                result.add(fullName);
+            }
+        }
+
+        return result;
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Return the prefix for a single-line comment in the specified engine's
+     * language.
+     *
+     * @param factoryName the short name of the script-engine factory (not
+     * null)
+     * @return the prefix (not null, not empty)
+     */
+    private static String commentPrefix(String factoryName) {
+        String result;
+        switch (factoryName) {
+            case "jruby":
+            case "jython":
+                result = "#";
+                break;
+
+            case "luaj":
+                result = "--";
+                break;
+
+            case "nashorn":
+                result = "//";
+                break;
+
+            default:
+                throw new IllegalStateException("factoryName = " + factoryName);
+        }
+
+        return result;
+    }
+
+    /**
+     * Convert the first character of the specified text to upper case.
+     *
+     * @param input the input text to convert (not null)
+     * @return the converted text (not null)
+     */
+    private static String firstToUpper(String input) {
+        String result = input;
+        if (!input.isEmpty()) {
+            String first = input.substring(0, 1);
+            first = first.toUpperCase(Locale.ROOT);
+            String rest = input.substring(1);
+            result = first + rest;
+        }
+
+        return result;
+    }
+}
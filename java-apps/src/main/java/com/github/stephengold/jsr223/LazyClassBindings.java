@@ -0,0 +1,139 @@
+/*
+ Copyright (c) 2026 Stephen Gold and Yanis Boudiaf
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+    list of conditions and the following disclaimer.
+
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+    this list of conditions and the following disclaimer in the documentation
+    and/or other materials provided with the distribution.
+
+ 3. Neither the name of the copyright holder nor the names of its
+    contributors may be used to endorse or promote products derived from
+    this software without specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.github.stephengold.jsr223;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+import javax.script.SimpleBindings;
+
+/**
+ * Bindings that resolve the simple name of a Java class the first time a
+ * script references it, using an index built from class lists. Classes that
+ * are never referenced are never loaded.
+ * <p>
+ * Intended for use as the global scope of engines that consult the
+ * {@code ScriptContext} when a script references an undefined global
+ * variable, such as Nashorn and Jython.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+final class LazyClassBindings extends SimpleBindings {
+    // *************************************************************************
+    // fields
+
+    /**
+     * convert each loaded class to the value bound to its simple name
+     */
+    final private Function<Class<?>, Object> converter;
+    /**
+     * map simple class names to full class names
+     */
+    final private Map<String, String> index;
+    // *************************************************************************
+    // constructors
+
+    /**
+     * Instantiate bindings with the specified index.
+     *
+     * @param index map from simple class names to full class names (not
+     * null, alias created)
+     * @param converter to convert each loaded class to the value bound to its
+     * simple name (not null)
+     */
+    LazyClassBindings(
+            Map<String, String> index, Function<Class<?>, Object> converter) {
+        super(new HashMap<>(64));
+        this.index = index;
+        this.converter = converter;
+    }
+    // *************************************************************************
+    // SimpleBindings methods
+
+    /**
+     * Test whether the specified name is bound, resolving it from the index
+     * if necessary.
+     *
+     * @param key the name to test (not null)
+     * @return true if bound, otherwise false
+     */
+    @Override
+    public boolean containsKey(Object key) {
+        boolean result = super.containsKey(key) || resolve(key) != null;
+        return result;
+    }
+
+    /**
+     * Return the value bound to the specified name, resolving it from the
+     * index if necessary.
+     *
+     * @param key the name to look up (not null)
+     * @return the bound value, or null if none
+     */
+    @Override
+    public Object get(Object key) {
+        Object result = super.get(key);
+        if (result == null) {
+            result = resolve(key);
+        }
+
+        return result;
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Load the class with the specified simple name and bind it.
+     *
+     * @param key the simple name to resolve (may be null)
+     * @return the new bound value, or null if the name isn't in the index
+     */
+    private Object resolve(Object key) {
+        if (!(key instanceof String)) {
+            return null;
+        }
+        String simpleName = (String) key;
+        String fullName = index.get(simpleName);
+        if (fullName == null) {
+            return null;
+        }
+
+        Class<?> loadedClass;
+        try {
+            loadedClass = Class.forName(fullName);
+        } catch (ClassNotFoundException exception) {
+            throw new IllegalStateException(
+                    "Class not found:  \"" + fullName + "\"", exception);
+        }
+        Object result = converter.apply(loadedClass);
+        put(simpleName, result);
+
+        return result;
+    }
+}
@@ -0,0 +1,347 @@
+/*
+ Copyright (c) 2026 Stephen Gold and Yanis Boudiaf
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+    list of conditions and the following disclaimer.
+
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+    this list of conditions and the following disclaimer in the documentation
+    and/or other materials provided with the distribution.
+
+ 3. Neither the name of the copyright holder nor the names of its
+    contributors may be used to endorse or promote products derived from
+    this software without specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.github.stephengold.jsr223;
+
+import com.github.stephengold.sportjolt.javaapp.util.JoltSetup;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import javax.script.ScriptContext;
+import javax.script.ScriptEngine;
+import javax.script.ScriptEngineFactory;
+import javax.script.ScriptEngineManager;
+import javax.script.ScriptException;
+import javax.script.SimpleScriptContext;
+
+/**
+ * A console application to run many independent scripts concurrently using
+ * the specified JSR-223 script engine, then report the timing of each.
+ * <p>
+ * If the engine's factory declares its "THREADING" parameter as
+ * "MULTITHREADED", "THREAD-ISOLATED", or "STATELESS", a single engine is
+ * shared by all worker threads. Otherwise each worker thread gets its own
+ * engine, so no engine is ever used by 2 threads at once. Either way, each
+ * script runs in a fresh {@code ScriptContext}, with its output captured and
+ * printed after it completes.
+ * <p>
+ * Jolt Physics is initialized once, before any script runs, and the global
+ * variable "JOLT_READY" is bound to true. Native-library loading and Jolt
+ * initialization aren't thread-safe, so every script in a batch must skip
+ * its own initialization when "JOLT_READY" is bound, as the "bench" variants
+ * of the HelloJoltJni ports do. Each script is expected to create its own
+ * {@code PhysicsSystem}.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+final public class RunBatch {
+    // *************************************************************************
+    // fields
+
+    /**
+     * full names of classes to bind, keyed by simple name, or null to
+     * evaluate the preambles instead
+     */
+    private static Map<String, String> lazyIndex;
+    /**
+     * converter for lazy bindings, or null to evaluate the preambles instead
+     */
+    private static Function<Class<?>, Object> lazyConverter;
+    /**
+     * preambles to evaluate in each script's context
+     */
+    final private static List<String> preambles = new ArrayList<>(4);
+    /**
+     * engine shared by all threads, or null for one engine per thread
+     */
+    private static ScriptEngine sharedEngine;
+    /**
+     * factory for creating script engines
+     */
+    private static ScriptEngineFactory factory;
+    /**
+     * engine used by the current thread if the engine isn't shared
+     */
+    final private static ThreadLocal<ScriptEngine> threadEngine
+            = ThreadLocal.withInitial(() -> factory.getScriptEngine());
+    // *************************************************************************
+    // constructors
+
+    /**
+     * A private constructor to inhibit instantiation of this class.
+     */
+    private RunBatch() {
+        // do nothing
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Main entry point for the RunBatch application.
+     *
+     * @param arguments array of command-line arguments (not null)
+     * @throws IOException if a class list can't be read
+     * @throws InterruptedException if interrupted while awaiting results
+     */
+    public static void main(String[] arguments)
+            throws IOException, InterruptedException {
+        // Parse the command-line options:
+        List<String> classListPaths = new ArrayList<>(4);
+        int numThreads = Runtime.getRuntime().availableProcessors();
+        int argIndex = 0;
+        while (argIndex + 1 < arguments.length
+                && arguments[argIndex].startsWith("--")) {
+            String option = arguments[argIndex];
+            String value = arguments[argIndex + 1];
+            argIndex += 2;
+            switch (option) {
+                case "--classes":
+                    classListPaths.add(value);
+                    break;
+
+                case "--threads":
+                    numThreads = parseThreads(value);
+                    break;
+
+                default:
+                    System.err.println("Unknown option:  \"" + option + "\"");
+                    printUsageAndExit(1);
+            }
+        }
+        if (arguments.length - argIndex < 2) {
+            printUsageAndExit(0);
+        }
+        String factoryName = arguments[argIndex];
+        ++argIndex;
+
+        ScriptEngineManager manager = new ScriptEngineManager();
+        ScriptEngine firstEngine = manager.getEngineByName(factoryName);
+        if (firstEngine == null) {
+            System.err.println("Script-engine factory not found:  \""
+                    + factoryName + "\"");
+            System.exit(1);
+        }
+        factory = firstEngine.getFactory();
+        Object threading = factory.getParameter("THREADING");
+        if ("MULTITHREADED".equals(threading)
+                || "THREAD-ISOLATED".equals(threading)
+                || "STATELESS".equals(threading)) {
+            sharedEngine = firstEngine;
+        }
+        System.out.printf("engine %s:  THREADING=%s, %s%n", factoryName,
+                threading, sharedEngine == null
+                        ? "one engine per thread" : "shared engine");
+
+        String[] listArray = classListPaths.toArray(new String[0]);
+        lazyConverter = ClassLists.lazyConverter(factoryName);
+        if (lazyConverter == null) {
+            for (String classListFilePath : listArray) {
+                String preamble
+                        = ClassLists.preamble(factoryName, classListFilePath);
+                if (!preamble.isEmpty()) {
+                    preambles.add(preamble);
+                }
+            }
+        } else {
+            lazyIndex = ClassLists.index(listArray);
+        }
+
+        JoltSetup.initialize();
+
+        // Submit the scripts:
+        long startNanos = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+        List<Future<String>> futures = new ArrayList<>(arguments.length);
+        for (int i = argIndex; i < arguments.length; ++i) {
+            String scriptFilePath = arguments[i];
+            futures.add(executor.submit(() -> runScript(scriptFilePath)));
+        }
+        executor.shutdown();
+
+        // Report the results in submission order:
+        int numFailures = 0;
+        for (int i = 0; i < futures.size(); ++i) {
+            try {
+                System.out.print(futures.get(i).get());
+            } catch (ExecutionException exception) {
+                String scriptFilePath = arguments[argIndex + i];
+                Throwable cause = exception.getCause();
+                if (cause instanceof ScriptFailure) {
+                    System.out.print(((ScriptFailure) cause).output());
+                    cause = cause.getCause();
+                }
+                System.err.println("Script failed:  \"" + scriptFilePath
+                        + "\"");
+                cause.printStackTrace();
+                ++numFailures;
+            }
+        }
+        System.out.printf("%d scripts on %d threads in %.3f ms%n",
+                futures.size(), numThreads,
+                1e-6 * (System.nanoTime() - startNanos));
+        if (numFailures > 0) {
+            System.exit(1);
+        }
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Parse the value of the "--threads" option, exiting the application if
+     * it isn't a positive integer.
+     *
+     * @param value the text to parse (not null)
+     * @return the number of threads (&gt;0)
+     */
+    private static int parseThreads(String value) {
+        int result = 0;
+        try {
+            result = Integer.parseInt(value);
+        } catch (NumberFormatException exception) {
+            // handled below
+        }
+        if (result <= 0) {
+            System.err.println("Invalid thread count:  \"" + value + "\"");
+            printUsageAndExit(1);
+        }
+
+        return result;
+    }
+
+    /**
+     * Print a usage message, then exit the application.
+     *
+     * @param status the exit status (0 if no error occurred)
+     */
+    private static void printUsageAndExit(int status) {
+        System.err.println("Usage:  RunBatch [ --classes <classList> ] ..."
+                + " [ --threads <n> ] <engine> <script> ...");
+        System.exit(status);
+    }
+
+    /**
+     * Run the script in the specified file using a fresh context.
+     *
+     * @param scriptFilePath path to the script file (not null)
+     * @return the script's output, followed by a timing line (not null)
+     * @throws ScriptFailure if the script file can't be read or the script
+     * fails
+     */
+    private static String runScript(String scriptFilePath)
+            throws ScriptFailure {
+        long startNanos = System.nanoTime();
+        ScriptEngine engine
+                = (sharedEngine == null) ? threadEngine.get() : sharedEngine;
+
+        StringWriter output = new StringWriter(1_024);
+        PrintWriter writer = new PrintWriter(output, true);
+        ScriptContext context = new SimpleScriptContext();
+        context.setWriter(writer);
+        context.setErrorWriter(writer);
+        context.setBindings(
+                engine.createBindings(), ScriptContext.ENGINE_SCOPE);
+        long readyNanos;
+        try {
+            if (lazyIndex == null) {
+                context.getBindings(ScriptContext.ENGINE_SCOPE)
+                        .put("JOLT_READY", true);
+                for (String preamble : preambles) {
+                    engine.eval(preamble, context);
+                }
+            } else { // Each context resolves its own classes:
+                LazyClassBindings global
+                        = new LazyClassBindings(lazyIndex, lazyConverter);
+                global.put("JOLT_READY", true);
+                context.setBindings(global, ScriptContext.GLOBAL_SCOPE);
+            }
+            readyNanos = System.nanoTime();
+
+            try (Reader scriptReader = new FileReader(scriptFilePath)) {
+                engine.eval(scriptReader, context);
+            }
+        } catch (IOException | RuntimeException | ScriptException exception) {
+            throw new ScriptFailure(output.toString(), exception);
+        }
+        long endNanos = System.nanoTime();
+
+        writer.printf("%s [%s]:  setup %.3f ms  run %.3f ms%n",
+                scriptFilePath, Thread.currentThread().getName(),
+                1e-6 * (readyNanos - startNanos),
+                1e-6 * (endNanos - readyNanos));
+        String result = output.toString();
+
+        return result;
+    }
+    // *************************************************************************
+    // nested classes
+
+    /**
+     * Report that a script failed, along with the output it produced before
+     * failing.
+     */
+    final private static class ScriptFailure extends Exception {
+        /**
+         * version number for serialization
+         */
+        final private static long serialVersionUID = 1L;
+        /**
+         * output captured before the failure (not null)
+         */
+        final private String output;
+
+        /**
+         * Instantiate a failure with the specified output and cause.
+         *
+         * @param output the output captured before the failure (not null)
+         * @param cause the cause of the failure (not null)
+         */
+        ScriptFailure(String output, Throwable cause) {
+            super(cause);
+            this.output = output;
+        }
+
+        /**
+         * Return the output captured before the failure.
+         *
+         * @return the output (not null)
+         */
+        String output() {
+            return output;
+        }
+    }
+}
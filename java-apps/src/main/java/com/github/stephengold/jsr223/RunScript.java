@@ -28,15 +28,22 @@
  */
 package com.github.stephengold.jsr223;
 
-import java.io.FileInputStream;
+import com.sun.management.ThreadMXBean;
+import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileReader;
-import java.io.InputStream;
-import java.nio.charset.StandardCharsets;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.NoSuchFileException;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Locale;
-import java.util.Scanner;
+import java.util.Map;
+import java.util.function.Function;
+import javax.script.Bindings;
+import javax.script.Compilable;
+import javax.script.CompiledScript;
+import javax.script.ScriptContext;
 import javax.script.ScriptEngine;
 import javax.script.ScriptEngineFactory;
 import javax.script.ScriptEngineManager;
@@ -46,6 +53,30 @@ import javax.script.ScriptException;
  * A console application to run the specified script using the specified JSR-223
  * script engine, after importing all Java classes named in specified text
  * files.
+ * <p>
+ * If the engine implements {@code Compilable}, the script is compiled once
+ * and the compiled form is cached (keyed by path and modification time) for
+ * re-use. The "--repeat N" option evaluates the script N times and reports
+ * the parse and execution times of each run.
+ * <p>
+ * Classes are imported by evaluating a single generated "preamble" script
+ * per class list. Each preamble is cached in the same directory as its class
+ * list and regenerated whenever the class list is modified. The
+ * "--no-preamble" option evaluates a separate snippet for each class instead.
+ * The "--timing" option reports how long the imports took.
+ * <p>
+ * For Jython and Nashorn, the "--lazy" option skips the imports entirely:
+ * instead, each class is loaded and bound the first time a script references
+ * its simple name.
+ * <p>
+ * The "--bench N" option evaluates the script N times, then prints a summary
+ * for comparing engines: import time, cold and warm evaluation times, the
+ * physics step rate, and the rate at which the main thread allocates heap
+ * memory. The step rate covers only the step loops that the script timed
+ * using the {@code StepTimer} bound to "STEP_TIMER".
+ * <p>
+ * Before each run after the first, the global variable "JOLT_READY" is bound
+ * to true, so that scripts can skip re-initializing Jolt Physics.
  *
  * @author Stephen Gold sgold@sonic.net
  */
@@ -53,6 +84,50 @@ final public class RunScript {
     // *************************************************************************
     // fields
 
+    /**
+     * true to print a benchmark summary after the last run
+     */
+    private static boolean benchmark;
+    /**
+     * true to bind classes on demand instead of importing them all up front
+     */
+    private static boolean lazyBinding;
+    /**
+     * true to report the parse and execution times of each run
+     */
+    private static boolean reportTimes;
+    /**
+     * true to import classes using a single cached preamble per class list,
+     * false to evaluate a separate snippet for each class
+     */
+    private static boolean usePreamble = true;
+    /**
+     * number of times to evaluate the script
+     */
+    private static int numRepeats = 1;
+    /**
+     * heap memory allocated by the main thread during the first run (in
+     * bytes)
+     */
+    private static long coldAllocatedBytes;
+    /**
+     * duration of the first run (in nanoseconds)
+     */
+    private static long coldEvalNanos;
+    /**
+     * total heap memory allocated by the main thread during subsequent runs
+     * (in bytes)
+     */
+    private static long warmAllocatedBytes;
+    /**
+     * total duration of subsequent runs (in nanoseconds)
+     */
+    private static long warmEvalNanos;
+    /**
+     * compiled scripts, keyed by script-file path
+     */
+    final private static Map<String, CachedScript> compiledScripts
+            = new HashMap<>(8);
     /**
      * engine for evaluating scripts
      */
@@ -61,6 +136,10 @@ final public class RunScript {
      * short name for the script-engine factory
      */
     private static String factoryName;
+    /**
+     * times the step loops of scripts
+     */
+    final private static StepTimer stepTimer = new StepTimer();
     // *************************************************************************
     // constructors
 
@@ -79,16 +158,55 @@ final public class RunScript {
      * @param arguments array of command-line arguments (not null)
      */
     public static void main(String[] arguments) {
-        // Parse the command-line arguments:
+        // Parse the command-line options:
+        int argIndex = 0;
+        while (argIndex < arguments.length
+                && arguments[argIndex].startsWith("--")) {
+            String option = arguments[argIndex];
+            ++argIndex;
+            switch (option) {
+                case "--bench":
+                    if (argIndex >= arguments.length) {
+                        printUsageAndExit();
+                    }
+                    numRepeats = Integer.parseInt(arguments[argIndex]);
+                    ++argIndex;
+                    benchmark = true;
+                    break;
+
+                case "--lazy":
+                    lazyBinding = true;
+                    break;
+
+                case "--no-preamble":
+                    usePreamble = false;
+                    break;
+
+                case "--repeat":
+                    if (argIndex >= arguments.length) {
+                        printUsageAndExit();
+                    }
+                    numRepeats = Integer.parseInt(arguments[argIndex]);
+                    ++argIndex;
+                    reportTimes = true;
+                    break;
+
+                case "--timing":
+                    reportTimes = true;
+                    break;
+
+                default:
+                    System.err.println("Unknown option:  \"" + option + "\"");
+                    printUsageAndExit();
+            }
+        }
+        arguments = Arrays.copyOfRange(
+                arguments, argIndex, arguments.length);
+
+        // Parse the remaining command-line arguments:
         int numArgs = arguments.length;
         if (numArgs < 2) {
-            System.err.println(
-                    "Usage:  RunScript <engine> <script> [ <classList> ... ]");
-
-            System.out.println();
-            printFactories();
-
-            System.exit(0);
+            printUsageAndExit();
         }
 
         factoryName = arguments[0];
@@ -107,35 +225,96 @@ final public class RunScript {
 
             System.exit(0);
         }
-
-        for (String classListFilePath : classListPaths) {
-            importClassesFromFile(classListFilePath);
+        scriptEngine.put("STEP_TIMER", stepTimer);
+
+        long importStartNanos = System.nanoTime();
+        String importMode;
+        if (lazyBinding && installLazyBindings(classListPaths)) {
+            importMode = "lazy";
+        } else {
+            for (String classListFilePath : classListPaths) {
+                importClassesFromFile(classListFilePath);
+            }
+            importMode = usePreamble ? "preamble" : "per-class";
+        }
+        long importNanos = System.nanoTime() - importStartNanos;
+        if (reportTimes) {
+            System.out.printf(
+                    "import (%s):  %.3f ms%n", importMode, 1e-6 * importNanos);
         }
 
-        evaluateScriptFromFile(scriptFilePath);
+        for (int runIndex = 0; runIndex < numRepeats; ++runIndex) {
+            evaluateScriptFromFile(scriptFilePath, runIndex);
+        }
+        if (benchmark) {
+            printBenchmark(importNanos);
+        }
     }
     // *************************************************************************
     // private methods
 
     /**
-     * Read and evaluate the script in the specified file.
+     * Return the total heap memory allocated by the current thread.
+     *
+     * @return the number of bytes (&ge;0), or 0 if the JVM doesn't support
+     * measuring it
+     */
+    private static long allocatedBytes() {
+        ThreadMXBean threadBean
+                = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long result = threadBean.getThreadAllocatedBytes(threadId);
+        if (result < 0L) { // not supported or disabled
+            result = 0L;
+        }
+
+        return result;
+    }
+
+    /**
+     * Compile the script in the specified file, or re-use a cached compiled
+     * script if the file hasn't been modified since it was compiled.
      *
      * @param scriptFilePath path to the script file (not null)
+     * @return the compiled script (not null)
      */
-    private static void evaluateScriptFromFile(String scriptFilePath) {
-        // Create a reader for the script file:
-        FileReader scriptReader = null;
-        try {
-            scriptReader = new FileReader(scriptFilePath);
+    private static CompiledScript compileScriptFromFile(
+            String scriptFilePath) {
+        File scriptFile = new File(scriptFilePath);
+        long lastModified = scriptFile.lastModified();
+        CachedScript cached = compiledScripts.get(scriptFilePath);
+        if (cached != null && cached.lastModified == lastModified) {
+            return cached.compiledScript;
+        }
+
+        CompiledScript result = null;
+        try (FileReader scriptReader = new FileReader(scriptFile)) {
+            result = ((Compilable) scriptEngine).compile(scriptReader);
         } catch (FileNotFoundException exception) {
             System.err.println(
                     "Script file not found:  \"" + scriptFilePath + "\"");
             System.exit(1);
+        } catch (IOException | ScriptException exception) {
+            exception.printStackTrace();
+            System.exit(1);
         }
+        compiledScripts.put(
+                scriptFilePath, new CachedScript(lastModified, result));
+
+        return result;
+    }
+
+    /**
+     * Evaluate the specified code snippet, exiting the application if an
+     * exception is thrown.
+     *
+     * @param codeSnippet the code to evaluate (not null)
+     */
+    private static void evalOrExit(String codeSnippet) {
+        //System.out.println(codeSnippet);
 
-        // Evaluate the script:
         try {
-            scriptEngine.eval(scriptReader);
+            scriptEngine.eval(codeSnippet);
         } catch (ScriptException exception) {
             exception.printStackTrace();
             System.exit(1);
@@ -143,75 +322,84 @@ final public class RunScript {
     }
 
     /**
-     * Convert the first character of the specified text to upper case.
+     * Read and evaluate the script in the specified file.
      *
-     * @param input the input text to convert (not null)
-     * @return the converted text (not null)
+     * @param scriptFilePath path to the script file (not null)
+     * @param runIndex the index of the current run (&ge;0)
      */
-    private static String firstToUpper(String input) {
-        String result = input;
-        if (!input.isEmpty()) {
-            String first = input.substring(0, 1);
-            first = first.toUpperCase(Locale.ROOT);
-            String rest = input.substring(1);
-            result = first + rest;
+    private static void evaluateScriptFromFile(
+            String scriptFilePath, int runIndex) {
+        if (runIndex == 1) {
+            // Jolt Physics was initialized by the first run:
+            scriptEngine.put("JOLT_READY", true);
+            // Measure the step rate using only the warm runs:
+            stepTimer.reset();
         }
 
-        return result;
+        long startBytes = allocatedBytes();
+        long startNanos = System.nanoTime();
+        CompiledScript compiledScript = null;
+        long parsedNanos;
+        if (scriptEngine instanceof Compilable) {
+            compiledScript = compileScriptFromFile(scriptFilePath);
+            parsedNanos = System.nanoTime();
+
+            // Evaluate the compiled script:
+            try {
+                compiledScript.eval();
+            } catch (ScriptException exception) {
+                exception.printStackTrace();
+                System.exit(1);
+            }
+
+        } else { // Read and evaluate the script file:
+            parsedNanos = System.nanoTime();
+            try (FileReader scriptReader = new FileReader(scriptFilePath)) {
+                scriptEngine.eval(scriptReader);
+            } catch (FileNotFoundException exception) {
+                System.err.println(
+                        "Script file not found:  \"" + scriptFilePath + "\"");
+                System.exit(1);
+            } catch (IOException | ScriptException exception) {
+                exception.printStackTrace();
+                System.exit(1);
+            }
+        }
+        long endNanos = System.nanoTime();
+        long runBytes = allocatedBytes() - startBytes;
+        if (runIndex == 0) {
+            coldAllocatedBytes = runBytes;
+            coldEvalNanos = endNanos - startNanos;
+        } else {
+            warmAllocatedBytes += runBytes;
+            warmEvalNanos += endNanos - startNanos;
+        }
+
+        if (reportTimes) {
+            if (compiledScript == null) { // parsing is included in execution
+                System.out.printf("run #%d:  parse+execute %.3f ms%n",
+                        runIndex + 1, 1e-6 * (endNanos - startNanos));
+            } else {
+                System.out.printf("run #%d:  parse %.3f ms  execute %.3f ms%n",
+                        runIndex + 1, 1e-6 * (parsedNanos - startNanos),
+                        1e-6 * (endNanos - parsedNanos));
+            }
+        }
     }
 
     /**
-     * Import the specified Java class into the script engine.
+     * Report a class list that couldn't be read, then exit the application.
      *
-     * @param fullName the full name of the class to import (not null)
+     * @param exception the exception that was thrown (not null)
      */
-    private static void importClass(String fullName) {
-        int lastDotPos = fullName.lastIndexOf('.');
-        assert lastDotPos >= 0 : lastDotPos;
-        String packageName = fullName.substring(0, lastDotPos);
-        String simpleName = fullName.substring(lastDotPos + 1);
-
-        String codeSnippet;
-        switch (factoryName) {
-            case "jruby":
-                if (simpleName.equals("Geometry")
-                        || simpleName.equals("Mutex")) { // conflicting constant
-                    return;
-                }
-                codeSnippet = String.format(
-                        "java_import Java::%s", firstToUpper(fullName));
-                break;
-
-            case "jython":
-                codeSnippet = String.format(
-                        "from %s import %s", packageName, simpleName);
-                break;
-
-            case "lua54":
-                return;
-
-            case "luaj":
-                codeSnippet = String.format(
-                        "%s = luajava.bindClass(\"%s\")", simpleName, fullName);
-                break;
-
-            case "nashorn":
-                codeSnippet = String.format(
-                        "var %s = Java.type('%s');", simpleName, fullName);
-                break;
-
-            default:
-                throw new IllegalStateException("factoryName = " + factoryName);
-        }
-
-        //System.out.println(codeSnippet);
-
-        try {
-            scriptEngine.eval(codeSnippet);
-        } catch (ScriptException exception) {
+    private static void exitOnClassListFailure(IOException exception) {
+        if (exception instanceof NoSuchFileException) {
+            System.err.println("Class list file not found:  \""
+                    + exception.getMessage() + "\"");
+        } else {
             exception.printStackTrace();
-            System.exit(1);
         }
+        System.exit(1);
     }
 
     /**
@@ -220,24 +408,88 @@ final public class RunScript {
      * @param classListFilePath the name of the input file
      */
     private static void importClassesFromFile(String classListFilePath) {
-        // Create an input stream for the class list:
-        InputStream inStream;
         try {
-            inStream = new FileInputStream(classListFilePath);
-        } catch (FileNotFoundException exception) {
-            System.err.println("Class list file not found:  \""
-                    + classListFilePath + "\"");
-            System.exit(1);
-            return;
-        }
+            if (usePreamble) {
+                String preamble
+                        = ClassLists.preamble(factoryName, classListFilePath);
+                if (!preamble.isEmpty()) {
+                    evalOrExit(preamble);
+                }
 
-        // Read the list and import each class into the engine:
-        try (Scanner scanner = new Scanner(inStream, StandardCharsets.UTF_8)) {
-            while (scanner.hasNextLine()) {
-                String fullName = scanner.nextLine();
-                importClass(fullName);
+            } else { // Evaluate a separate snippet for each class:
+                for (String fullName : ClassLists.read(classListFilePath)) {
+                    String codeSnippet
+                            = ClassLists.importSnippet(factoryName, fullName);
+                    if (codeSnippet != null) {
+                        evalOrExit(codeSnippet);
+                    }
+                }
             }
+        } catch (IOException exception) {
+            exitOnClassListFailure(exception);
+        }
+    }
+
+    /**
+     * Install bindings that resolve classes named in the specified lists on
+     * demand, if the engine supports it.
+     *
+     * @param classListPaths the names of the class-list files (not null)
+     * @return true if installed, false if the engine doesn't support lazy
+     * binding
+     */
+    private static boolean installLazyBindings(String[] classListPaths) {
+        Function<Class<?>, Object> converter
+                = ClassLists.lazyConverter(factoryName);
+        if (converter == null) {
+            System.err.println("Lazy binding isn't supported for \""
+                    + factoryName + "\"; importing all classes.");
+            return false;
         }
+
+        Map<String, String> index = null;
+        try {
+            index = ClassLists.index(classListPaths);
+        } catch (IOException exception) {
+            exitOnClassListFailure(exception);
+        }
+
+        Bindings bindings = new LazyClassBindings(index, converter);
+        scriptEngine.setBindings(bindings, ScriptContext.GLOBAL_SCOPE);
+
+        return true;
+    }
+
+    /**
+     * Print a one-line benchmark summary, using the warm runs if there were
+     * any, otherwise the first run.
+     *
+     * @param importNanos the time spent importing classes (in nanoseconds)
+     */
+    private static void printBenchmark(long importNanos) {
+        int numWarmRuns = numRepeats - 1;
+        double evalSeconds;
+        double allocatedMegabytes;
+        if (numWarmRuns > 0) {
+            evalSeconds = 1e-9 * warmEvalNanos / numWarmRuns;
+            allocatedMegabytes = 1e-6 * warmAllocatedBytes / numWarmRuns;
+        } else {
+            evalSeconds = 1e-9 * coldEvalNanos;
+            allocatedMegabytes = 1e-6 * coldAllocatedBytes;
+        }
+
+        System.out.printf("benchmark %s:  import %.1f ms  cold eval %.1f ms"
+                + "  warm eval %.1f ms%n", factoryName, 1e-6 * importNanos,
+                1e-6 * coldEvalNanos, 1e3 * evalSeconds);
+        int numSteps = stepTimer.numSteps();
+        if (numSteps > 0) {
+            double stepSeconds = 1e-9 * stepTimer.elapsedNanos();
+            System.out.printf("benchmark %s:  %.1f steps/s in step loops%n",
+                    factoryName, numSteps / stepSeconds);
+        }
+        System.out.printf("benchmark %s:  %.1f MB allocated by the main thread"
+                + " per run  (%.1f MB/s)%n", factoryName, allocatedMegabytes,
+                allocatedMegabytes / evalSeconds);
     }
 
     /**
@@ -270,4 +522,48 @@ final public class RunScript {
                     lanuage, languageVersion);
         }
     }
+
+    /**
+     * Print a usage message and a description of each available script-engine
+     * factory, then exit the application.
+     */
+    private static void printUsageAndExit() {
+        System.err.println("Usage:  RunScript [ <option> ... ] <engine>"
+                + " <script> [ <classList> ... ]");
+        System.err.println(
+                "Options:  --bench <n>  --lazy  --no-preamble  --repeat <n>"
+                + "  --timing");
+
+        System.out.println();
+        printFactories();
+
+        System.exit(0);
+    }
+    // *************************************************************************
+    // nested classes
+
+    /**
+     * A compiled script and the modification time of its source file.
+     */
+    final private static class CachedScript {
+        /**
+         * modification time of the source file when it was compiled
+         */
+        final long lastModified;
+        /**
+         * the compiled script
+         */
+        final CompiledScript compiledScript;
+
+        /**
+         * Instantiate a cache entry.
+         *
+         * @param lastModified the modification time of the source file
+         * @param compiledScript the compiled script (not null)
+         */
+        CachedScript(long lastModified, CompiledScript compiledScript) {
+            this.lastModified = lastModified;
+            this.compiledScript = compiledScript;
+        }
+    }
 }
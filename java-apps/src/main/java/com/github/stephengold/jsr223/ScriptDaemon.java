@@ -0,0 +1,397 @@
+/*
+ Copyright (c) 2026 Stephen Gold and Yanis Boudiaf
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+    list of conditions and the following disclaimer.
+
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+    this list of conditions and the following disclaimer in the documentation
+    and/or other materials provided with the distribution.
+
+ 3. Neither the name of the copyright holder nor the names of its
+    contributors may be used to endorse or promote products derived from
+    this software without specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.github.stephengold.jsr223;
+
+import com.github.stephengold.sportjolt.javaapp.util.JoltSetup;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.Reader;
+import java.io.StringReader;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import javax.script.Bindings;
+import javax.script.Compilable;
+import javax.script.CompiledScript;
+import javax.script.ScriptContext;
+import javax.script.ScriptEngine;
+import javax.script.ScriptEngineManager;
+import javax.script.ScriptException;
+import javax.script.SimpleScriptContext;
+
+/**
+ * A console application that keeps a warmed JSR-223 script engine and the
+ * Jolt-JNI native library resident, then runs scripts submitted over a
+ * loopback socket. This avoids paying for JVM startup, native-library
+ * extraction, engine initialization, and class imports on every run.
+ * <p>
+ * Each connection submits a single request. The first line is the access
+ * token. The 2nd line is either the path of a script file or "-", in which
+ * case the script text follows, terminated by a line containing only ".".
+ * Output written by the script is streamed back over the connection,
+ * followed by a status line: "# ok" or "# error". For example:
+ * <pre>
+ * { cat script-daemon-7300.token
+ *   echo scripts/bench/hello_jolt_jni_bench.py; } | nc 127.0.0.1 7300
+ * </pre>
+ * <p>
+ * The daemon runs arbitrary code on behalf of its clients, with the
+ * privileges of the user who launched it. To keep other local users from
+ * submitting scripts, a random token is generated at each launch and written
+ * to "script-daemon-&lt;port&gt;.token" in the working directory, readable
+ * only by its owner (where the file system supports POSIX permissions).
+ * Requests that don't present the token are rejected and the connection is
+ * dropped. Any process that can
+ * read the token file can still submit scripts, so don't run the daemon on
+ * a shared account.
+ * <p>
+ * Each request runs in a fresh {@code ScriptContext}, so variables defined by
+ * one script aren't visible to the next. Requests are served one at a time,
+ * so a client that connects but doesn't finish sending its request within
+ * 10 seconds is dropped, to keep it from stalling the daemon.
+ * Output that Java code writes directly to {@code System.out} isn't captured.
+ * <p>
+ * Jolt Physics is initialized before the first request, and the global
+ * variable "JOLT_READY" is bound to true. Scripts must skip their own
+ * initialization when it's bound, as the "bench" variants of the HelloJoltJni
+ * ports do. (The tutorial ports in "scripts/console" always initialize.)
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+final public class ScriptDaemon {
+    // *************************************************************************
+    // constants
+
+    /**
+     * line that terminates script text submitted over the socket
+     */
+    final private static String endOfScript = ".";
+    /**
+     * line of a request that submits script text instead of a path
+     */
+    final private static String inlineScript = "-";
+    /**
+     * maximum time to wait for each read from a client (in milliseconds)
+     */
+    final private static int readTimeoutMillis = 10_000;
+    /**
+     * number of random bytes in the access token
+     */
+    final private static int tokenBytes = 24;
+    // *************************************************************************
+    // fields
+
+    /**
+     * converter for lazy bindings, or null to evaluate the preambles instead
+     */
+    private static Function<Class<?>, Object> lazyConverter;
+    /**
+     * full names of classes to bind, keyed by simple name, or null to
+     * evaluate the preambles in each request instead
+     */
+    private static Map<String, String> lazyIndex;
+    /**
+     * preambles to evaluate in each request that lacks global bindings
+     */
+    final private static List<String> preambles = new ArrayList<>(4);
+    /**
+     * compiled scripts, keyed by script-file path
+     */
+    final private static Map<String, CompiledScript> compiledScripts
+            = new HashMap<>(8);
+    /**
+     * modification times of the compiled scripts, keyed by script-file path
+     */
+    final private static Map<String, Long> compileTimes = new HashMap<>(8);
+    /**
+     * engine for evaluating scripts
+     */
+    private static ScriptEngine scriptEngine;
+    /**
+     * access token that each request must present (not null once the
+     * daemon is listening)
+     */
+    private static String token;
+    // *************************************************************************
+    // constructors
+
+    /**
+     * A private constructor to inhibit instantiation of this class.
+     */
+    private ScriptDaemon() {
+        // do nothing
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Main entry point for the ScriptDaemon application.
+     *
+     * @param arguments array of command-line arguments (not null)
+     * @throws IOException if the token file can't be written or the server
+     * socket can't be opened
+     */
+    public static void main(String[] arguments) throws IOException {
+        int numArgs = arguments.length;
+        if (numArgs < 2) {
+            System.err.println("Usage:  ScriptDaemon <engine> <port>"
+                    + " [ <classList> ... ]");
+            System.exit(0);
+        }
+        String factoryName = arguments[0];
+        int port = Integer.parseInt(arguments[1]);
+        String[] classListPaths = Arrays.copyOfRange(arguments, 2, numArgs);
+
+        long startNanos = System.nanoTime();
+        JoltSetup.initialize();
+
+        ScriptEngineManager manager = new ScriptEngineManager();
+        scriptEngine = manager.getEngineByName(factoryName);
+        if (scriptEngine == null) {
+            System.err.println("Script-engine factory not found:  \""
+                    + factoryName + "\"");
+            System.exit(1);
+        }
+
+        // Prefer lazy binding; otherwise cache the preambles:
+        lazyConverter = ClassLists.lazyConverter(factoryName);
+        if (lazyConverter == null) {
+            for (String classListFilePath : classListPaths) {
+                String preamble
+                        = ClassLists.preamble(factoryName, classListFilePath);
+                if (!preamble.isEmpty()) {
+                    preambles.add(preamble);
+                }
+            }
+        } else {
+            lazyIndex = ClassLists.index(classListPaths);
+        }
+        System.out.printf("Warmed up %s in %.3f ms.%n", factoryName,
+                1e-6 * (System.nanoTime() - startNanos));
+
+        Path tokenFile = writeToken(port);
+        InetAddress loopback = InetAddress.getLoopbackAddress();
+        try (ServerSocket server = new ServerSocket(port, 8, loopback)) {
+            System.out.println("Listening on " + server.getLocalSocketAddress()
+                    + " with the token in " + tokenFile);
+            while (true) {
+                try (Socket socket = server.accept()) {
+                    socket.setSoTimeout(readTimeoutMillis);
+                    serve(socket);
+                } catch (SocketTimeoutException exception) {
+                    System.out.println("dropped a connection that timed out");
+                } catch (IOException exception) {
+                    exception.printStackTrace();
+                }
+            }
+        }
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Compile the script in the specified file, or re-use a cached compiled
+     * script if the file hasn't been modified since it was compiled.
+     *
+     * @param scriptFile the script file (not null)
+     * @return the compiled script (not null)
+     * @throws IOException if the file can't be read
+     * @throws ScriptException if the script can't be compiled
+     */
+    private static CompiledScript compile(File scriptFile)
+            throws IOException, ScriptException {
+        String key = scriptFile.getPath();
+        long lastModified = scriptFile.lastModified();
+        CompiledScript result = compiledScripts.get(key);
+        if (result == null || compileTimes.get(key) != lastModified) {
+            try (Reader scriptReader = new FileReader(scriptFile)) {
+                result = ((Compilable) scriptEngine).compile(scriptReader);
+            }
+            compiledScripts.put(key, result);
+            compileTimes.put(key, lastModified);
+        }
+
+        return result;
+    }
+
+    /**
+     * Create a fresh context for a single request, with output directed to
+     * the specified writer.
+     *
+     * @param writer the destination for output (not null)
+     * @return a new context
+     * @throws ScriptException if a preamble fails
+     */
+    private static ScriptContext newContext(PrintWriter writer)
+            throws ScriptException {
+        ScriptContext result = new SimpleScriptContext();
+        result.setWriter(writer);
+        result.setErrorWriter(writer);
+        result.setBindings(scriptEngine.createBindings(),
+                ScriptContext.ENGINE_SCOPE);
+
+        if (lazyIndex == null) {
+            result.getBindings(ScriptContext.ENGINE_SCOPE)
+                    .put("JOLT_READY", true);
+            for (String preamble : preambles) {
+                scriptEngine.eval(preamble, result);
+            }
+        } else { // Each request resolves its own classes:
+            Bindings global = new LazyClassBindings(lazyIndex, lazyConverter);
+            global.put("JOLT_READY", true);
+            result.setBindings(global, ScriptContext.GLOBAL_SCOPE);
+        }
+
+        return result;
+    }
+
+    /**
+     * Read a single request from the specified socket, run it, and stream
+     * the output back. The entire request is read before the script runs, so
+     * a client that stalls is dropped without running anything.
+     *
+     * @param socket the connected socket (not null)
+     * @throws IOException if the connection fails or a read times out
+     */
+    private static void serve(Socket socket) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(
+                socket.getInputStream(), StandardCharsets.UTF_8));
+        PrintWriter writer = new PrintWriter(new OutputStreamWriter(
+                socket.getOutputStream(), StandardCharsets.UTF_8), true);
+
+        String tokenLine = reader.readLine();
+        if (tokenLine == null) {
+            return;
+        }
+        byte[] expected = token.getBytes(StandardCharsets.UTF_8);
+        byte[] actual = tokenLine.trim().getBytes(StandardCharsets.UTF_8);
+        if (!MessageDigest.isEqual(expected, actual)) {
+            writer.println("# error: invalid token");
+            System.out.println("rejected a request with an invalid token");
+            return;
+        }
+
+        String firstLine = reader.readLine();
+        if (firstLine == null) {
+            return;
+        }
+        String scriptText = null;
+        if (firstLine.equals(inlineScript)) {
+            StringBuilder builder = new StringBuilder(4_096);
+            String line = reader.readLine();
+            while (line != null && !line.equals(endOfScript)) {
+                builder.append(line).append('\n');
+                line = reader.readLine();
+            }
+            scriptText = builder.toString();
+        }
+
+        long startNanos = System.nanoTime();
+        String status = "# ok";
+        try {
+            ScriptContext context = newContext(writer);
+            if (scriptText != null) {
+                Reader scriptReader = new StringReader(scriptText);
+                scriptEngine.eval(scriptReader, context);
+
+            } else if (scriptEngine instanceof Compilable) {
+                compile(new File(firstLine)).eval(context);
+
+            } else {
+                try (Reader scriptReader = new FileReader(firstLine)) {
+                    scriptEngine.eval(scriptReader, context);
+                }
+            }
+        } catch (IOException | RuntimeException | ScriptException exception) {
+            exception.printStackTrace(writer);
+            status = "# error";
+        }
+        writer.println(status);
+
+        System.out.printf("%s  %.3f ms  %s%n", firstLine,
+                1e-6 * (System.nanoTime() - startNanos), status);
+    }
+
+    /**
+     * Generate a random access token and write it to a file in the working
+     * directory that only its owner can read. The file is deleted when the
+     * JVM exits.
+     *
+     * @param port the port number (used to name the file)
+     * @return the path to the token file (not null)
+     * @throws IOException if the file can't be written
+     */
+    private static Path writeToken(int port) throws IOException {
+        byte[] bytes = new byte[tokenBytes];
+        new SecureRandom().nextBytes(bytes);
+        StringBuilder builder = new StringBuilder(2 * tokenBytes);
+        for (byte b : bytes) {
+            builder.append(String.format("%02x", b));
+        }
+        token = builder.toString();
+
+        Path result = Paths.get("script-daemon-" + port + ".token")
+                .toAbsolutePath();
+        Files.deleteIfExists(result);
+        if (result.getFileSystem().supportedFileAttributeViews()
+                .contains("posix")) {
+            Set<PosixFilePermission> ownerOnly
+                    = PosixFilePermissions.fromString("rw-------");
+            Files.createFile(result,
+                    PosixFilePermissions.asFileAttribute(ownerOnly));
+        } else {
+            Files.createFile(result);
+        }
+        Files.write(result, (token + "\n").getBytes(StandardCharsets.UTF_8));
+        result.toFile().deleteOnExit();
+
+        return result;
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ Copyright (c) 2026 Stephen Gold and Yanis Boudiaf
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+    list of conditions and the following disclaimer.
+
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+    this list of conditions and the following disclaimer in the documentation
+    and/or other materials provided with the distribution.
+
+ 3. Neither the name of the copyright holder nor the names of its
+    contributors may be used to endorse or promote products derived from
+    this software without specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.github.stephengold.jsr223;
+
+/**
+ * Accumulate the time a script spends stepping physics, so benchmarks can
+ * report a step rate that excludes initialization.
+ * <p>
+ * RunScript binds an instance to the global variable "STEP_TIMER". A script
+ * invokes {@code start()} just before its step loop and {@code stop(n)} just
+ * after it.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+final public class StepTimer {
+    // *************************************************************************
+    // fields
+
+    /**
+     * number of steps timed since the last reset
+     */
+    private int numSteps;
+    /**
+     * total time spent in timed step loops since the last reset (in
+     * nanoseconds)
+     */
+    private long elapsedNanos;
+    /**
+     * {@code System.nanoTime()} when the current loop started, or -1 if no
+     * loop is being timed
+     */
+    private long startNanos = -1L;
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Return the total time spent in timed step loops since the last reset.
+     *
+     * @return the duration (in nanoseconds, &ge;0)
+     */
+    public long elapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Return the number of steps timed since the last reset.
+     *
+     * @return the count (&ge;0)
+     */
+    public int numSteps() {
+        return numSteps;
+    }
+
+    /**
+     * Discard all accumulated measurements.
+     */
+    public void reset() {
+        this.numSteps = 0;
+        this.elapsedNanos = 0L;
+        this.startNanos = -1L;
+    }
+
+    /**
+     * Start timing a step loop.
+     */
+    public void start() {
+        this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * Stop timing the current step loop and accumulate its duration.
+     *
+     * @param stepCount the number of steps performed by the loop (&ge;0)
+     */
+    public void stop(int stepCount) {
+        if (startNanos < 0L) {
+            throw new IllegalStateException("The timer wasn't started.");
+        }
+        this.elapsedNanos += System.nanoTime() - startNanos;
+        this.numSteps += stepCount;
+        this.startNanos = -1L;
+    }
+}
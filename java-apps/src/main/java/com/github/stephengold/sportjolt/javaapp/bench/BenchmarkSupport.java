@@ -0,0 +1,265 @@
+/*
+ Copyright (c) 2026 Stephen Gold and Yanis Boudiaf
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+    list of conditions and the following disclaimer.
+
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+    this list of conditions and the following disclaimer in the documentation
+    and/or other materials provided with the distribution.
+
+ 3. Neither the name of the copyright holder nor the names of its
+    contributors may be used to endorse or promote products derived from
+    this software without specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.github.stephengold.sportjolt.javaapp.bench;
+
+import com.github.stephengold.joltjni.Body;
+import com.github.stephengold.joltjni.BodyCreationSettings;
+import com.github.stephengold.joltjni.BodyInterface;
+import com.github.stephengold.joltjni.BroadPhaseLayerInterfaceTable;
+import com.github.stephengold.joltjni.JobSystem;
+import com.github.stephengold.joltjni.JobSystemThreadPool;
+import com.github.stephengold.joltjni.Jolt;
+import com.github.stephengold.joltjni.ObjectLayerPairFilterTable;
+import com.github.stephengold.joltjni.ObjectVsBroadPhaseLayerFilter;
+import com.github.stephengold.joltjni.ObjectVsBroadPhaseLayerFilterTable;
+import com.github.stephengold.joltjni.PhysicsSystem;
+import com.github.stephengold.joltjni.Plane;
+import com.github.stephengold.joltjni.PlaneShape;
+import com.github.stephengold.joltjni.TempAllocator;
+import com.github.stephengold.joltjni.TempAllocatorMalloc;
+import com.github.stephengold.joltjni.enumerate.EActivation;
+import com.github.stephengold.joltjni.enumerate.EMotionType;
+import com.github.stephengold.joltjni.enumerate.EPhysicsUpdateError;
+import com.github.stephengold.joltjni.readonly.ConstShape;
+
+/**
+ * Utility methods shared by the benchmark applications.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+final class BenchmarkSupport {
+    // *************************************************************************
+    // constants
+
+    /**
+     * number of object layers
+     */
+    final static int numObjLayers = 2;
+    /**
+     * object layer for moving objects
+     */
+    final static int objLayerMoving = 0;
+    /**
+     * object layer for non-moving objects
+     */
+    final static int objLayerNonMoving = 1;
+    // *************************************************************************
+    // constructors
+
+    /**
+     * A private constructor to inhibit instantiation of this class.
+     */
+    private BenchmarkSupport() {
+        // do nothing
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Add a static horizontal plane at y=0 to the specified system.
+     *
+     * @param system the system to modify (not null)
+     * @return the ID of the new body
+     */
+    static int addFloor(PhysicsSystem system) {
+        ConstShape shape = new PlaneShape(new Plane(0f, 1f, 0f, 0f));
+        BodyCreationSettings bcs = new BodyCreationSettings()
+                .setMotionType(EMotionType.Static)
+                .setObjectLayer(objLayerNonMoving)
+                .setShape(shape);
+
+        BodyInterface bi = system.getBodyInterface();
+        Body floor = bi.createBody(bcs);
+        bi.addBody(floor, EActivation.DontActivate);
+        int result = floor.getId();
+
+        return result;
+    }
+
+    /**
+     * Add a square grid of dynamic bodies with the specified shape, stacked
+     * in layers above y=0.
+     *
+     * @param system the system to modify (not null)
+     * @param shape the shape for the bodies (not null)
+     * @param numBodies the number of bodies to add (&ge;0)
+     * @param spacing the distance between adjacent bodies (in meters, &gt;0)
+     * @return a new array of body IDs
+     */
+    static int[] addPile(PhysicsSystem system, ConstShape shape,
+            int numBodies, float spacing) {
+        BodyCreationSettings bcs = new BodyCreationSettings()
+                .setMotionType(EMotionType.Dynamic)
+                .setObjectLayer(objLayerMoving)
+                .setShape(shape);
+        BodyInterface bi = system.getBodyInterface();
+
+        int perRow = (int) Math.ceil(Math.cbrt(numBodies));
+        int[] result = new int[numBodies];
+        for (int i = 0; i < numBodies; ++i) {
+            int ix = i % perRow;
+            int iz = (i / perRow) % perRow;
+            int iy = i / (perRow * perRow);
+            double x = spacing * (ix - 0.5 * perRow);
+            double y = spacing * (iy + 1);
+            double z = spacing * (iz - 0.5 * perRow);
+            bcs.setPosition(x, y, z);
+
+            Body body = bi.createBody(bcs);
+            bi.addBody(body, EActivation.Activate);
+            result[i] = body.getId();
+        }
+
+        return result;
+    }
+
+    /**
+     * Add a static body with the specified shape at the origin of the
+     * specified system.
+     *
+     * @param system the system to modify (not null)
+     * @param shape the shape for the body (not null)
+     * @return the ID of the new body
+     */
+    static int addStaticBody(PhysicsSystem system, ConstShape shape) {
+        BodyCreationSettings bcs = new BodyCreationSettings()
+                .setMotionType(EMotionType.Static)
+                .setObjectLayer(objLayerNonMoving)
+                .setShape(shape);
+
+        BodyInterface bi = system.getBodyInterface();
+        Body body = bi.createBody(bcs);
+        bi.addBody(body, EActivation.DontActivate);
+        int result = body.getId();
+
+        return result;
+    }
+
+    /**
+     * Create a PhysicsSystem with 2 object layers (moving and non-moving).
+     *
+     * @param maxBodies the maximum number of bodies (&gt;0)
+     * @param numBpLayers the number of broadphase layers (1 or 2; if 2,
+     * non-moving objects get their own broadphase layer)
+     * @return a new object
+     */
+    static PhysicsSystem createSystem(int maxBodies, int numBpLayers) {
+        assert numBpLayers == 1 || numBpLayers == 2 : numBpLayers;
+
+        ObjectLayerPairFilterTable ovoFilter
+                = new ObjectLayerPairFilterTable(numObjLayers);
+        ovoFilter.enableCollision(objLayerMoving, objLayerMoving);
+        ovoFilter.enableCollision(objLayerMoving, objLayerNonMoving);
+        ovoFilter.disableCollision(objLayerNonMoving, objLayerNonMoving);
+
+        BroadPhaseLayerInterfaceTable layerMap
+                = new BroadPhaseLayerInterfaceTable(numObjLayers, numBpLayers);
+        layerMap.mapObjectToBroadPhaseLayer(objLayerMoving, 0);
+        layerMap.mapObjectToBroadPhaseLayer(
+                objLayerNonMoving, numBpLayers - 1);
+
+        ObjectVsBroadPhaseLayerFilter ovbFilter
+                = new ObjectVsBroadPhaseLayerFilterTable(
+                        layerMap, numBpLayers, ovoFilter, numObjLayers);
+
+        PhysicsSystem result = new PhysicsSystem();
+        int numBodyMutexes = 0; // 0 means "use the default number"
+        int maxBodyPairs = Math.max(65_536, 8 * maxBodies);
+        int maxContacts = Math.max(20_480, 4 * maxBodies);
+        result.init(maxBodies, numBodyMutexes, maxBodyPairs, maxContacts,
+                layerMap, ovbFilter, ovoFilter);
+
+        return result;
+    }
+
+    /**
+     * Create a job system that uses all available processors.
+     *
+     * @return a new object
+     */
+    static JobSystem newJobSystem() {
+        int numWorkerThreads = Runtime.getRuntime().availableProcessors();
+        JobSystem result = new JobSystemThreadPool(Jolt.cMaxPhysicsJobs,
+                Jolt.cMaxPhysicsBarriers, numWorkerThreads);
+
+        return result;
+    }
+
+    /**
+     * Create a temporary allocator for stepping.
+     *
+     * @return a new object
+     */
+    static TempAllocator newTempAllocator() {
+        TempAllocator result = new TempAllocatorMalloc();
+        return result;
+    }
+
+    /**
+     * Parse the specified command-line argument as an integer.
+     *
+     * @param arguments the command-line arguments (not null, unaffected)
+     * @param index the index of the argument to parse (&ge;0)
+     * @param defaultValue the value to return if the argument is missing
+     * @return the parsed value
+     */
+    static int parseInt(String[] arguments, int index, int defaultValue) {
+        int result = defaultValue;
+        if (arguments.length > index) {
+            result = Integer.parseInt(arguments[index]);
+        }
+
+        return result;
+    }
+
+    /**
+     * Step the specified system the specified number of times, 1 collision
+     * step per update.
+     *
+     * @param system the system to step (not null)
+     * @param numSteps the number of steps (&ge;0)
+     * @param timePerStep the duration of each step (in seconds, &gt;0)
+     * @param tempAllocator the allocator to use (not null)
+     * @param jobSystem the job system to use (not null)
+     * @return the elapsed wall-clock time (in nanoseconds)
+     */
+    static long step(PhysicsSystem system, int numSteps, float timePerStep,
+            TempAllocator tempAllocator, JobSystem jobSystem) {
+        long startNanos = System.nanoTime();
+        for (int i = 0; i < numSteps; ++i) {
+            int collisionSteps = 1;
+            int errors = system.update(
+                    timePerStep, collisionSteps, tempAllocator, jobSystem);
+            assert errors == EPhysicsUpdateError.None : errors;
+        }
+
+        long result = System.nanoTime() - startNanos;
+        return result;
+    }
+}
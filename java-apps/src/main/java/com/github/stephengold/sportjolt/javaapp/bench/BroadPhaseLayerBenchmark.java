@@ -0,0 +1,341 @@
+/*
+ Copyright (c) 2026 Stephen Gold and Yanis Boudiaf
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+    list of conditions and the following disclaimer.
+
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+    this list of conditions and the following disclaimer in the documentation
+    and/or other materials provided with the distribution.
+
+ 3. Neither the name of the copyright holder nor the names of its
+    contributors may be used to endorse or promote products derived from
+    this software without specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.github.stephengold.sportjolt.javaapp.bench;
+
+import com.github.stephengold.joltjni.AaBox;
+import com.github.stephengold.joltjni.AllHitCollideShapeBodyCollector;
+import com.github.stephengold.joltjni.Body;
+import com.github.stephengold.joltjni.BodyCreationSettings;
+import com.github.stephengold.joltjni.BodyInterface;
+import com.github.stephengold.joltjni.BoxShape;
+import com.github.stephengold.joltjni.BroadPhaseLayerFilter;
+import com.github.stephengold.joltjni.BroadPhaseLayerInterfaceTable;
+import com.github.stephengold.joltjni.JobSystem;
+import com.github.stephengold.joltjni.ObjectLayerFilter;
+import com.github.stephengold.joltjni.ObjectLayerPairFilterTable;
+import com.github.stephengold.joltjni.ObjectVsBroadPhaseLayerFilterTable;
+import com.github.stephengold.joltjni.PhysicsSystem;
+import com.github.stephengold.joltjni.SpecifiedObjectLayerFilter;
+import com.github.stephengold.joltjni.SphereShape;
+import com.github.stephengold.joltjni.TempAllocator;
+import com.github.stephengold.joltjni.Vec3;
+import com.github.stephengold.joltjni.enumerate.EActivation;
+import com.github.stephengold.joltjni.enumerate.EMotionType;
+import com.github.stephengold.joltjni.readonly.ConstAaBox;
+import com.github.stephengold.joltjni.readonly.ConstBroadPhaseQuery;
+import com.github.stephengold.joltjni.readonly.ConstShape;
+import com.github.stephengold.joltjni.readonly.Vec3Arg;
+import com.github.stephengold.sportjolt.javaapp.util.BroadPhaseLayerPlanner;
+import com.github.stephengold.sportjolt.javaapp.util.JoltSetup;
+import java.util.Random;
+
+/**
+ * Measure the effect of the broadphase layers proposed by
+ * {@code BroadPhaseLayerPlanner} on step time and broadphase query time, in
+ * a world with many static props.
+ * <p>
+ * The world has 4 object layers: terrain (static), props (static), actors
+ * (dynamic), and debris (dynamic, not colliding with other debris). The
+ * query pattern is 80% sphere queries for actors and 20% box queries for
+ * props. Each trial builds the same world with the plan for a different
+ * broadphase-layer limit; a limit of 1 reproduces the single-layer mapping
+ * used by the samples.
+ * <p>
+ * Optional arguments: number of props (default 200,000), number of actors
+ * (default 2,000), number of timed steps (default 100), number of timed
+ * queries (default 100,000).
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+final public class BroadPhaseLayerBenchmark {
+    // *************************************************************************
+    // constants
+
+    /**
+     * broadphase-layer limit for each trial
+     */
+    final private static int[] bpLayerLimits = {1, 2, 3, 4};
+    /**
+     * half extent of the populated area (in meters)
+     */
+    final private static float halfExtent = 500f;
+    /**
+     * number of object layers
+     */
+    final private static int numObjLayers = 4;
+    /**
+     * object layer for actors
+     */
+    final private static int objLayerActors = 2;
+    /**
+     * object layer for debris
+     */
+    final private static int objLayerDebris = 3;
+    /**
+     * object layer for props
+     */
+    final private static int objLayerProps = 1;
+    /**
+     * object layer for terrain
+     */
+    final private static int objLayerTerrain = 0;
+    // *************************************************************************
+    // constructors
+
+    /**
+     * A private constructor to inhibit instantiation of this class.
+     */
+    private BroadPhaseLayerBenchmark() {
+        // do nothing
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Main entry point for the BroadPhaseLayerBenchmark application.
+     *
+     * @param arguments array of command-line arguments (not null)
+     */
+    public static void main(String[] arguments) {
+        int numProps = BenchmarkSupport.parseInt(arguments, 0, 200_000);
+        int numActors = BenchmarkSupport.parseInt(arguments, 1, 2_000);
+        int numSteps = BenchmarkSupport.parseInt(arguments, 2, 100);
+        int numQueries = BenchmarkSupport.parseInt(arguments, 3, 100_000);
+
+        JoltSetup.initialize();
+
+        // Profile the scenario:
+        BroadPhaseLayerPlanner planner
+                = new BroadPhaseLayerPlanner(numObjLayers);
+        planner.countBodies(objLayerTerrain, EMotionType.Static, 1);
+        planner.countBodies(objLayerProps, EMotionType.Static, numProps);
+        planner.countBodies(objLayerActors, EMotionType.Dynamic, numActors);
+        planner.countBodies(objLayerDebris, EMotionType.Dynamic, numActors);
+        for (int i = 0; i < 10; ++i) {
+            planner.countQuery(i < 8 ? objLayerActors : objLayerProps);
+        }
+        planner.enableCollision(objLayerActors, objLayerActors);
+        planner.enableCollision(objLayerActors, objLayerTerrain);
+        planner.enableCollision(objLayerActors, objLayerProps);
+        planner.enableCollision(objLayerActors, objLayerDebris);
+        planner.enableCollision(objLayerDebris, objLayerTerrain);
+        planner.enableCollision(objLayerDebris, objLayerProps);
+        System.out.println(planner);
+
+        // Build the query shapes outside the timed region:
+        Random random = new Random(2L);
+        Vec3Arg[] centers = new Vec3Arg[numQueries];
+        ConstAaBox[] boxes = new ConstAaBox[numQueries];
+        for (int i = 0; i < numQueries; ++i) {
+            Vec3 center = new Vec3((float) randomCoordinate(random), 1f,
+                    (float) randomCoordinate(random));
+            centers[i] = center;
+            if (i % 10 >= 8) {
+                boxes[i] = new AaBox(center, 5f);
+            }
+        }
+
+        TempAllocator tempAllocator = BenchmarkSupport.newTempAllocator();
+        JobSystem jobSystem = BenchmarkSupport.newJobSystem();
+        for (int maxBpLayers : bpLayerLimits) {
+            BroadPhaseLayerPlanner.Plan plan = planner.propose(maxBpLayers);
+            System.out.println();
+            System.out.println(plan);
+
+            int maxBodies = 1 + numProps + 2 * numActors;
+            long startNanos = System.nanoTime();
+            PhysicsSystem system = createSystem(planner, plan, maxBodies);
+            populate(system, numProps, numActors);
+            system.optimizeBroadPhase();
+            long buildNanos = System.nanoTime() - startNanos;
+
+            float timePerStep = 1f / 60f;
+            BenchmarkSupport.step(
+                    system, 10, timePerStep, tempAllocator, jobSystem);
+            long stepNanos = BenchmarkSupport.step(
+                    system, numSteps, timePerStep, tempAllocator, jobSystem);
+
+            // Warm up before timing the queries:
+            timeQueries(system, plan, centers, boxes, numQueries / 10);
+            startNanos = System.nanoTime();
+            long numHits = timeQueries(
+                    system, plan, centers, boxes, numQueries);
+            long queryNanos = System.nanoTime() - startNanos;
+
+            System.out.printf("build=%.1f ms  step=%.3f ms  query=%.1f ns"
+                    + "  hits/query=%.2f%n", 1e-6 * buildNanos,
+                    1e-6 * stepNanos / numSteps,
+                    queryNanos / (double) numQueries,
+                    numHits / (double) numQueries);
+
+            system.close();
+        }
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Add a body with the specified properties to the specified system.
+     *
+     * @param bi the body interface to use (not null)
+     * @param bcs the settings to use (not null, modified)
+     * @param x the X coordinate of the body's location
+     * @param y the Y coordinate of the body's location
+     * @param z the Z coordinate of the body's location
+     * @param activation whether to activate the body (not null)
+     */
+    private static void addBody(BodyInterface bi, BodyCreationSettings bcs,
+            double x, double y, double z, EActivation activation) {
+        bcs.setPosition(x, y, z);
+        Body body = bi.createBody(bcs);
+        bi.addBody(body, activation);
+    }
+
+    /**
+     * Create a PhysicsSystem that implements the specified plan.
+     *
+     * @param planner the planner that tracks collisions (not null)
+     * @param plan the plan to implement (not null)
+     * @param maxBodies the maximum number of bodies (&gt;0)
+     * @return a new object
+     */
+    private static PhysicsSystem createSystem(BroadPhaseLayerPlanner planner,
+            BroadPhaseLayerPlanner.Plan plan, int maxBodies) {
+        ObjectLayerPairFilterTable ovoFilter = planner.createPairFilter();
+        BroadPhaseLayerInterfaceTable layerMap = plan.createLayerInterface();
+        ObjectVsBroadPhaseLayerFilterTable ovbFilter
+                = plan.createObjectVsBpFilter(layerMap, ovoFilter);
+
+        PhysicsSystem result = new PhysicsSystem();
+        int numBodyMutexes = 0; // 0 means "use the default number"
+        int maxBodyPairs = Math.max(65_536, 8 * maxBodies);
+        int maxContacts = Math.max(20_480, 4 * maxBodies);
+        result.init(maxBodies, numBodyMutexes, maxBodyPairs, maxContacts,
+                layerMap, ovbFilter, ovoFilter);
+
+        return result;
+    }
+
+    /**
+     * Populate the specified system with terrain, props, actors, and debris.
+     *
+     * @param system the system to populate (not null)
+     * @param numProps the number of props (&ge;0)
+     * @param numActors the number of actors (and of debris) to add (&ge;0)
+     */
+    private static void populate(
+            PhysicsSystem system, int numProps, int numActors) {
+        BodyInterface bi = system.getBodyInterface();
+        Random random = new Random(1L);
+
+        ConstShape terrainShape
+                = new BoxShape(new Vec3(halfExtent, 1f, halfExtent));
+        BodyCreationSettings bcs = new BodyCreationSettings()
+                .setMotionType(EMotionType.Static)
+                .setObjectLayer(objLayerTerrain)
+                .setShape(terrainShape);
+        addBody(bi, bcs, 0., -1., 0., EActivation.DontActivate);
+
+        bcs.setObjectLayer(objLayerProps).setShape(new BoxShape(0.5f));
+        for (int i = 0; i < numProps; ++i) {
+            addBody(bi, bcs, randomCoordinate(random), 0.5,
+                    randomCoordinate(random), EActivation.DontActivate);
+        }
+
+        bcs.setMotionType(EMotionType.Dynamic)
+                .setObjectLayer(objLayerActors)
+                .setShape(new BoxShape(0.4f));
+        for (int i = 0; i < numActors; ++i) {
+            addBody(bi, bcs, randomCoordinate(random), 2. + random.nextInt(4),
+                    randomCoordinate(random), EActivation.Activate);
+        }
+
+        bcs.setObjectLayer(objLayerDebris).setShape(new SphereShape(0.2f));
+        for (int i = 0; i < numActors; ++i) {
+            addBody(bi, bcs, randomCoordinate(random), 2. + random.nextInt(4),
+                    randomCoordinate(random), EActivation.Activate);
+        }
+    }
+
+    /**
+     * Generate a random coordinate within the populated area.
+     *
+     * @param random the pseudo-random generator to use (not null)
+     * @return the coordinate value
+     */
+    private static double randomCoordinate(Random random) {
+        double result = halfExtent * (2. * random.nextDouble() - 1.);
+        return result;
+    }
+
+    /**
+     * Perform the query pattern: 80% sphere queries for actors and 20% box
+     * queries for props.
+     *
+     * @param system the system to query (not null)
+     * @param plan the plan that the system implements (not null)
+     * @param centers the center of each query (not null, unaffected)
+     * @param boxes the box for each box query, or null for each sphere query
+     * (not null, unaffected)
+     * @param numQueries the number of queries to perform (&ge;0,
+     * &le;centers.length)
+     * @return the total number of hits (&ge;0)
+     */
+    private static long timeQueries(PhysicsSystem system,
+            BroadPhaseLayerPlanner.Plan plan, Vec3Arg[] centers,
+            ConstAaBox[] boxes, int numQueries) {
+        ConstBroadPhaseQuery query = system.getBroadPhaseQuery();
+        AllHitCollideShapeBodyCollector collector
+                = new AllHitCollideShapeBodyCollector();
+        BroadPhaseLayerFilter actorBpFilter
+                = plan.createQueryFilter(objLayerActors);
+        ObjectLayerFilter actorObjFilter
+                = new SpecifiedObjectLayerFilter(objLayerActors);
+        BroadPhaseLayerFilter propBpFilter
+                = plan.createQueryFilter(objLayerProps);
+        ObjectLayerFilter propObjFilter
+                = new SpecifiedObjectLayerFilter(objLayerProps);
+
+        long result = 0L;
+        for (int i = 0; i < numQueries; ++i) {
+            collector.reset();
+            ConstAaBox box = boxes[i];
+            if (box == null) {
+                query.collideSphere(centers[i], 10f, collector,
+                        actorBpFilter, actorObjFilter);
+            } else {
+                query.collideAaBox(
+                        box, collector, propBpFilter, propObjFilter);
+            }
+            result += collector.countHits();
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,359 @@
+/*
+ Copyright (c) 2026 Stephen Gold and Yanis Boudiaf
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+    list of conditions and the following disclaimer.
+
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+    this list of conditions and the following disclaimer in the documentation
+    and/or other materials provided with the distribution.
+
+ 3. Neither the name of the copyright holder nor the names of its
+    contributors may be used to endorse or promote products derived from
+    this software without specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.github.stephengold.sportjolt.javaapp.bench;
+
+import com.github.stephengold.joltjni.AaBox;
+import com.github.stephengold.joltjni.AllHitCollideShapeBodyCollector;
+import com.github.stephengold.joltjni.AllHitRayCastBodyCollector;
+import com.github.stephengold.joltjni.Body;
+import com.github.stephengold.joltjni.BodyCreationSettings;
+import com.github.stephengold.joltjni.BodyInterface;
+import com.github.stephengold.joltjni.BoxShape;
+import com.github.stephengold.joltjni.BroadPhaseLayerFilter;
+import com.github.stephengold.joltjni.ObjectLayerFilter;
+import com.github.stephengold.joltjni.PhysicsSystem;
+import com.github.stephengold.joltjni.RayCast;
+import com.github.stephengold.joltjni.Vec3;
+import com.github.stephengold.joltjni.enumerate.EActivation;
+import com.github.stephengold.joltjni.enumerate.EMotionType;
+import com.github.stephengold.joltjni.readonly.ConstAaBox;
+import com.github.stephengold.joltjni.readonly.ConstBroadPhaseQuery;
+import com.github.stephengold.joltjni.readonly.ConstShape;
+import com.github.stephengold.joltjni.readonly.Vec3Arg;
+import com.github.stephengold.sportjolt.javaapp.util.JoltSetup;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Measure the throughput of broadphase queries (collideAaBox, collideSphere,
+ * collidePoint, and castRay) for various body counts, numbers of broadphase
+ * layers, and thread counts, both before and after
+ * {@code optimizeBroadPhase()}.
+ * <p>
+ * Each configuration is measured twice: once resetting a collector that's
+ * reused for every query (as in HelloBroadPhase) and once creating a new
+ * collector for every query.
+ * <p>
+ * Optional arguments: number of queries per trial (default 100,000), maximum
+ * number of query threads (default: all available processors).
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+final public class BroadPhaseQueryBenchmark {
+    // *************************************************************************
+    // constants
+
+    /**
+     * number of bodies in the system for each configuration
+     */
+    final private static int[] bodyCounts = {1_000, 10_000, 100_000};
+    /**
+     * number of precomputed query volumes/rays of each kind
+     */
+    final private static int poolSize = 1_024;
+    /**
+     * names of the query kinds, in order of their indices
+     */
+    final private static String[] queryNames
+            = {"collideAaBox", "collideSphere", "collidePoint", "castRay"};
+    /**
+     * average volume of world space per body (in cubic meters)
+     */
+    final private static float volumePerBody = 64f;
+    // *************************************************************************
+    // fields
+
+    /**
+     * precomputed boxes for collideAaBox queries
+     */
+    private static ConstAaBox[] boxes;
+    /**
+     * precomputed locations for collidePoint and collideSphere queries
+     */
+    private static Vec3Arg[] points;
+    /**
+     * precomputed rays for castRay queries
+     */
+    private static RayCast[] rays;
+    // *************************************************************************
+    // constructors
+
+    /**
+     * A private constructor to inhibit instantiation of this class.
+     */
+    private BroadPhaseQueryBenchmark() {
+        // do nothing
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Main entry point for the BroadPhaseQueryBenchmark application.
+     *
+     * @param arguments array of command-line arguments (not null)
+     * @throws ExecutionException if a query thread fails
+     * @throws InterruptedException if interrupted while awaiting a query
+     * thread
+     */
+    public static void main(String[] arguments)
+            throws ExecutionException, InterruptedException {
+        int numQueries = BenchmarkSupport.parseInt(arguments, 0, 100_000);
+        int maxThreads = BenchmarkSupport.parseInt(
+                arguments, 1, Runtime.getRuntime().availableProcessors());
+
+        JoltSetup.initialize();
+
+        List<Integer> threadCounts = new ArrayList<>(8);
+        for (int n = 1; n < maxThreads; n *= 2) {
+            threadCounts.add(n);
+        }
+        threadCounts.add(maxThreads);
+        ExecutorService executor = Executors.newFixedThreadPool(maxThreads);
+
+        System.out.printf("%7s %2s %-5s %-13s %-5s %3s %10s %9s %8s%n",
+                "bodies", "bp", "opt", "query", "coll", "thr", "queries/s",
+                "ns/query", "hits/q");
+        for (int numBodies : bodyCounts) {
+            float halfExtent = 0.5f * (float) Math.cbrt(
+                    volumePerBody * numBodies);
+            createQueries(halfExtent);
+
+            for (int numBpLayers = 1; numBpLayers <= 2; ++numBpLayers) {
+                PhysicsSystem system = BenchmarkSupport.createSystem(
+                        numBodies, numBpLayers);
+                scatterBodies(system, numBodies, halfExtent);
+                ConstBroadPhaseQuery query = system.getBroadPhaseQuery();
+
+                for (boolean optimized : new boolean[]{false, true}) {
+                    if (optimized) {
+                        system.optimizeBroadPhase();
+                    }
+                    for (int kind = 0; kind < queryNames.length; ++kind) {
+                        for (boolean reuse : new boolean[]{true, false}) {
+                            for (int numThreads : threadCounts) {
+                                runTrial(query, kind, reuse, numQueries,
+                                        numThreads, executor, numBodies,
+                                        numBpLayers, optimized);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        executor.shutdown();
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Precompute pools of query boxes, points, and rays inside a cubical
+     * region centered on the origin.
+     *
+     * @param halfExtent the half extent of the region (in meters, &gt;0)
+     */
+    private static void createQueries(float halfExtent) {
+        Random random = new Random(2L);
+        boxes = new ConstAaBox[poolSize];
+        points = new Vec3Arg[poolSize];
+        rays = new RayCast[poolSize];
+
+        for (int i = 0; i < poolSize; ++i) {
+            Vec3 location = randomLocation(random, halfExtent);
+            points[i] = location;
+            boxes[i] = new AaBox(location, 2f);
+
+            Vec3 direction = randomLocation(random, 1f);
+            float length = direction.length();
+            direction.scaleInPlace(20f / Math.max(length, 1e-3f));
+            rays[i] = new RayCast(location, direction);
+        }
+    }
+
+    /**
+     * Perform queries of the specified kind, starting at the specified index
+     * in the query pools.
+     *
+     * @param query the broadphase interface to query (not null)
+     * @param kind the index of the query kind (&ge;0, &lt;4)
+     * @param reuse true to reset a single collector for each query, false to
+     * create a new collector for each query
+     * @param start the index of the first query (&ge;0)
+     * @param count the number of queries to perform (&ge;0)
+     * @return the total number of hits (&ge;0)
+     */
+    private static long runQueries(ConstBroadPhaseQuery query, int kind,
+            boolean reuse, int start, int count) {
+        BroadPhaseLayerFilter bpFilter = new BroadPhaseLayerFilter();
+        ObjectLayerFilter objFilter = new ObjectLayerFilter();
+        AllHitCollideShapeBodyCollector collideCollector
+                = new AllHitCollideShapeBodyCollector();
+        AllHitRayCastBodyCollector rayCollector
+                = new AllHitRayCastBodyCollector();
+        float radius = 2f;
+
+        long result = 0L;
+        for (int i = start; i < start + count; ++i) {
+            int poolIndex = i % poolSize;
+            if (kind == 3) {
+                if (reuse) {
+                    rayCollector.reset();
+                } else {
+                    rayCollector = new AllHitRayCastBodyCollector();
+                }
+                query.castRay(
+                        rays[poolIndex], rayCollector, bpFilter, objFilter);
+                result += rayCollector.countHits();
+                continue;
+            }
+
+            if (reuse) {
+                collideCollector.reset();
+            } else {
+                collideCollector = new AllHitCollideShapeBodyCollector();
+            }
+            switch (kind) {
+                case 0:
+                    query.collideAaBox(boxes[poolIndex], collideCollector,
+                            bpFilter, objFilter);
+                    break;
+                case 1:
+                    query.collideSphere(points[poolIndex], radius,
+                            collideCollector, bpFilter, objFilter);
+                    break;
+                default:
+                    query.collidePoint(points[poolIndex], collideCollector,
+                            bpFilter, objFilter);
+            }
+            result += collideCollector.countHits();
+        }
+
+        return result;
+    }
+
+    /**
+     * Time the specified number of queries, divided among the specified
+     * number of threads, and print the results.
+     *
+     * @param query the broadphase interface to query (not null)
+     * @param kind the index of the query kind (&ge;0, &lt;4)
+     * @param reuse true to reset a single collector per thread, false to
+     * create a new collector for each query
+     * @param numQueries the total number of timed queries (&gt;0)
+     * @param numThreads the number of query threads (&gt;0)
+     * @param executor the executor for query threads (not null)
+     * @param numBodies the number of bodies in the system (for printing)
+     * @param numBpLayers the number of broadphase layers (for printing)
+     * @param optimized true if the broadphase was optimized (for printing)
+     * @throws ExecutionException if a query thread fails
+     * @throws InterruptedException if interrupted while awaiting a query
+     * thread
+     */
+    private static void runTrial(ConstBroadPhaseQuery query, int kind,
+            boolean reuse, int numQueries, int numThreads,
+            ExecutorService executor, int numBodies, int numBpLayers,
+            boolean optimized)
+            throws ExecutionException, InterruptedException {
+        runQueries(query, kind, reuse, 0, numQueries / 10); // warm up
+
+        int perThread = numQueries / numThreads;
+        List<Future<Long>> futures = new ArrayList<>(numThreads);
+        long startNanos = System.nanoTime();
+        for (int i = 0; i < numThreads; ++i) {
+            int start = i * perThread;
+            futures.add(executor.submit(
+                    () -> runQueries(query, kind, reuse, start, perThread)));
+        }
+        long numHits = 0L;
+        for (Future<Long> future : futures) {
+            numHits += future.get();
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+
+        long numPerformed = (long) perThread * numThreads;
+        double queriesPerSecond = 1e9 * numPerformed / elapsedNanos;
+        System.out.printf("%7d %2d %-5s %-13s %-5s %3d %10.0f %9.1f %8.2f%n",
+                numBodies, numBpLayers, optimized, queryNames[kind],
+                reuse ? "reset" : "new", numThreads, queriesPerSecond,
+                1e9 / queriesPerSecond, numHits / (double) numPerformed);
+    }
+
+    /**
+     * Generate a random location inside a cubical region centered on the
+     * origin.
+     *
+     * @param random the pseudo-random generator to use (not null)
+     * @param halfExtent the half extent of the region (in meters, &gt;0)
+     * @return a new vector
+     */
+    private static Vec3 randomLocation(Random random, float halfExtent) {
+        Vec3 result = new Vec3(
+                halfExtent * (2f * random.nextFloat() - 1f),
+                halfExtent * (2f * random.nextFloat() - 1f),
+                halfExtent * (2f * random.nextFloat() - 1f));
+        return result;
+    }
+
+    /**
+     * Add boxes at random locations to the specified system: half of them
+     * static and half of them dynamic (but inactive, so the broadphase is
+     * the only thing being measured).
+     *
+     * @param system the system to modify (not null)
+     * @param numBodies the number of bodies to add (&ge;0)
+     * @param halfExtent the half extent of the populated region (in meters,
+     * &gt;0)
+     */
+    private static void scatterBodies(
+            PhysicsSystem system, int numBodies, float halfExtent) {
+        ConstShape shape = new BoxShape(0.5f);
+        BodyCreationSettings bcs = new BodyCreationSettings().setShape(shape);
+        BodyInterface bi = system.getBodyInterface();
+        Random random = new Random(1L);
+
+        for (int i = 0; i < numBodies; ++i) {
+            if (i % 2 == 0) {
+                bcs.setMotionType(EMotionType.Static)
+                        .setObjectLayer(BenchmarkSupport.objLayerNonMoving);
+            } else {
+                bcs.setMotionType(EMotionType.Dynamic)
+                        .setObjectLayer(BenchmarkSupport.objLayerMoving);
+            }
+            Vec3 location = randomLocation(random, halfExtent);
+            bcs.setPosition(location.getX(), location.getY(), location.getZ());
+            Body body = bi.createBody(bcs);
+            bi.addBody(body, EActivation.DontActivate);
+        }
+    }
+}
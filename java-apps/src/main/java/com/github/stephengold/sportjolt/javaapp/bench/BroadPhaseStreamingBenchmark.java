@@ -0,0 +1,279 @@
+/*
+ Copyright (c) 2026 Stephen Gold and Yanis Boudiaf
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+    list of conditions and the following disclaimer.
+
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+    this list of conditions and the following disclaimer in the documentation
+    and/or other materials provided with the distribution.
+
+ 3. Neither the name of the copyright holder nor the names of its
+    contributors may be used to endorse or promote products derived from
+    this software without specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.github.stephengold.sportjolt.javaapp.bench;
+
+import com.github.stephengold.joltjni.AaBox;
+import com.github.stephengold.joltjni.AllHitCollideShapeBodyCollector;
+import com.github.stephengold.joltjni.Body;
+import com.github.stephengold.joltjni.BodyCreationSettings;
+import com.github.stephengold.joltjni.BodyInterface;
+import com.github.stephengold.joltjni.BoxShape;
+import com.github.stephengold.joltjni.BroadPhaseLayerFilter;
+import com.github.stephengold.joltjni.JobSystem;
+import com.github.stephengold.joltjni.ObjectLayerFilter;
+import com.github.stephengold.joltjni.PhysicsSystem;
+import com.github.stephengold.joltjni.TempAllocator;
+import com.github.stephengold.joltjni.Vec3;
+import com.github.stephengold.joltjni.enumerate.EActivation;
+import com.github.stephengold.joltjni.enumerate.EMotionType;
+import com.github.stephengold.joltjni.readonly.ConstAaBox;
+import com.github.stephengold.joltjni.readonly.ConstBroadPhaseQuery;
+import com.github.stephengold.sportjolt.javaapp.util.BroadPhaseMaintainer;
+import com.github.stephengold.sportjolt.javaapp.util.JoltSetup;
+import java.util.Random;
+
+/**
+ * Measure how broadphase query latency creeps up in a world whose content
+ * streams in and out, with and without a {@code BroadPhaseMaintainer}.
+ * <p>
+ * Each trial loads a window of static props, optimizes the broadphase once
+ * (as after a loading screen), then streams: every tick it replaces the
+ * oldest props with new ones at random locations, reports the changes to
+ * the maintainer, steps the system, and times a fixed set of box queries.
+ * In the "maintained" trial, {@code maintain()} runs after each tick, which
+ * optimizes the broadphase whenever the maintainer finds it due. The report
+ * compares query latency over the first and last tenths of each trial, along
+ * with tick times (including any optimization stalls).
+ * <p>
+ * Optional arguments: number of resident props (default 50,000), number of
+ * props replaced per tick (default 500), number of ticks (default 600).
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+final public class BroadPhaseStreamingBenchmark {
+    // *************************************************************************
+    // constants
+
+    /**
+     * half extent of the populated area (in meters)
+     */
+    final private static float halfExtent = 200f;
+    /**
+     * number of timed box queries per tick
+     */
+    final private static int numQueries = 1_000;
+    /**
+     * half extent of each probe box and query box (in meters)
+     */
+    final private static float queryHalfExtent = 5f;
+    /**
+     * simulation time per tick (in seconds)
+     */
+    final private static float timePerStep = 1f / 60f;
+    // *************************************************************************
+    // constructors
+
+    /**
+     * A private constructor to inhibit instantiation of this class.
+     */
+    private BroadPhaseStreamingBenchmark() {
+        // do nothing
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Main entry point for the BroadPhaseStreamingBenchmark application.
+     *
+     * @param arguments array of command-line arguments (not null)
+     */
+    public static void main(String[] arguments) {
+        int numResident = BenchmarkSupport.parseInt(arguments, 0, 50_000);
+        int numPerTick = BenchmarkSupport.parseInt(arguments, 1, 500);
+        int numTicks = BenchmarkSupport.parseInt(arguments, 2, 600);
+
+        JoltSetup.initialize();
+
+        // Build the query boxes outside the timed region:
+        Random random = new Random(2L);
+        ConstAaBox[] queryBoxes = new ConstAaBox[numQueries];
+        for (int i = 0; i < numQueries; ++i) {
+            Vec3 center = new Vec3(randomCoordinate(random), 0.5f,
+                    randomCoordinate(random));
+            queryBoxes[i] = new AaBox(center, queryHalfExtent);
+        }
+
+        TempAllocator tempAllocator = BenchmarkSupport.newTempAllocator();
+        JobSystem jobSystem = BenchmarkSupport.newJobSystem();
+        for (boolean maintain : new boolean[]{false, true}) {
+            runTrial(maintain, numResident, numPerTick, numTicks, queryBoxes,
+                    tempAllocator, jobSystem);
+        }
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Add a static prop at a random location in the populated area.
+     *
+     * @param bi the body interface to use (not null)
+     * @param bcs the settings to use (not null, modified)
+     * @param random the pseudo-random generator to use (not null)
+     * @return the ID of the new body
+     */
+    private static int addProp(
+            BodyInterface bi, BodyCreationSettings bcs, Random random) {
+        bcs.setPosition(
+                randomCoordinate(random), 0.5, randomCoordinate(random));
+        Body body = bi.createBody(bcs);
+        bi.addBody(body, EActivation.DontActivate);
+        int result = body.getId();
+
+        return result;
+    }
+
+    /**
+     * Generate a random coordinate within the populated area.
+     *
+     * @param random the pseudo-random generator to use (not null)
+     * @return the coordinate value
+     */
+    private static float randomCoordinate(Random random) {
+        float result = halfExtent * (2f * random.nextFloat() - 1f);
+        return result;
+    }
+
+    /**
+     * Stream props through a new system and report query latency and tick
+     * times.
+     *
+     * @param maintain true to let a maintainer optimize the broadphase, false
+     * to never re-optimize after loading
+     * @param numResident the number of resident props (&gt;0)
+     * @param numPerTick the number of props replaced per tick (&ge;0,
+     * &le;numResident)
+     * @param numTicks the number of ticks to simulate (&gt;0)
+     * @param queryBoxes the boxes to query each tick (not null, unaffected)
+     * @param tempAllocator the allocator to use (not null)
+     * @param jobSystem the job system to use (not null)
+     */
+    private static void runTrial(boolean maintain, int numResident,
+            int numPerTick, int numTicks, ConstAaBox[] queryBoxes,
+            TempAllocator tempAllocator, JobSystem jobSystem) {
+        PhysicsSystem system = BenchmarkSupport.createSystem(
+                numResident + numPerTick, 1);
+        BodyInterface bi = system.getBodyInterface();
+        BodyCreationSettings bcs = new BodyCreationSettings()
+                .setMotionType(EMotionType.Static)
+                .setObjectLayer(BenchmarkSupport.objLayerNonMoving)
+                .setShape(new BoxShape(0.5f));
+        Random random = new Random(1L);
+
+        // Load the initial window:
+        int[] residentIds = new int[numResident];
+        for (int i = 0; i < numResident; ++i) {
+            residentIds[i] = addProp(bi, bcs, random);
+        }
+        system.optimizeBroadPhase();
+
+        ConstAaBox region = new AaBox(new Vec3(-halfExtent, 0f, -halfExtent),
+                new Vec3(halfExtent, 1f, halfExtent));
+        BroadPhaseMaintainer maintainer
+                = new BroadPhaseMaintainer(region, queryHalfExtent);
+        maintainer.setProbeInterval(30);
+
+        AllHitCollideShapeBodyCollector collector
+                = new AllHitCollideShapeBodyCollector();
+        BroadPhaseLayerFilter bpFilter = new BroadPhaseLayerFilter();
+        ObjectLayerFilter objFilter = new ObjectLayerFilter();
+        int windowTicks = Math.max(1, numTicks / 10);
+        long firstQueryNanos = 0L;
+        long lastQueryNanos = 0L;
+        long maxTickNanos = 0L;
+        long sumTickNanos = 0L;
+
+        int oldest = 0;
+        for (int tick = 0; tick < numTicks; ++tick) {
+            long startNanos = System.nanoTime();
+            for (int i = 0; i < numPerTick; ++i) {
+                int bodyId = residentIds[oldest];
+                bi.removeBody(bodyId);
+                bi.destroyBody(bodyId);
+                residentIds[oldest] = addProp(bi, bcs, random);
+                oldest = (oldest + 1) % numResident;
+            }
+            maintainer.bodiesRemoved(numPerTick);
+            maintainer.bodiesAdded(numPerTick);
+
+            BenchmarkSupport.step(
+                    system, 1, timePerStep, tempAllocator, jobSystem);
+            maintainer.physicsTick(system, timePerStep);
+            if (maintain) {
+                maintainer.maintain(system);
+            }
+            long tickNanos = System.nanoTime() - startNanos;
+            sumTickNanos += tickNanos;
+            maxTickNanos = Math.max(maxTickNanos, tickNanos);
+
+            long queryNanos = timeQueries(
+                    system, queryBoxes, collector, bpFilter, objFilter);
+            if (tick < windowTicks) {
+                firstQueryNanos += queryNanos;
+            } else if (tick >= numTicks - windowTicks) {
+                lastQueryNanos += queryNanos;
+            }
+        }
+
+        double perWindow = windowTicks * (double) queryBoxes.length;
+        System.out.printf("%-12s first=%.1f ns/query  last=%.1f ns/query"
+                + "  tick mean=%.3f ms max=%.3f ms%n",
+                maintain ? "maintained" : "unmaintained",
+                firstQueryNanos / perWindow, lastQueryNanos / perWindow,
+                1e-6 * sumTickNanos / numTicks, 1e-6 * maxTickNanos);
+        if (maintain) {
+            System.out.println("  " + maintainer.summary());
+        }
+
+        system.close();
+    }
+
+    /**
+     * Perform the specified box queries against the specified system.
+     *
+     * @param system the system to query (not null)
+     * @param boxes the boxes to query (not null, unaffected)
+     * @param collector the collector to use (not null)
+     * @param bpFilter the broadphase-layer filter to use (not null)
+     * @param objFilter the object-layer filter to use (not null)
+     * @return the elapsed wall-clock time (in nanoseconds)
+     */
+    private static long timeQueries(PhysicsSystem system, ConstAaBox[] boxes,
+            AllHitCollideShapeBodyCollector collector,
+            BroadPhaseLayerFilter bpFilter, ObjectLayerFilter objFilter) {
+        ConstBroadPhaseQuery query = system.getBroadPhaseQuery();
+        long startNanos = System.nanoTime();
+        for (ConstAaBox box : boxes) {
+            collector.reset();
+            query.collideAaBox(box, collector, bpFilter, objFilter);
+        }
+
+        long result = System.nanoTime() - startNanos;
+        return result;
+    }
+}
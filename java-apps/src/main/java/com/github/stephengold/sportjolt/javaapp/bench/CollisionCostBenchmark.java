@@ -0,0 +1,419 @@
+/*
+ Copyright (c) 2026 Stephen Gold and Yanis Boudiaf
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+    list of conditions and the following disclaimer.
+
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+    this list of conditions and the following disclaimer in the documentation
+    and/or other materials provided with the distribution.
+
+ 3. Neither the name of the copyright holder nor the names of its
+    contributors may be used to endorse or promote products derived from
+    this software without specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.github.stephengold.sportjolt.javaapp.bench;
+
+import com.github.stephengold.joltjni.AaBox;
+import com.github.stephengold.joltjni.AllHitCollideShapeBodyCollector;
+import com.github.stephengold.joltjni.BoxShape;
+import com.github.stephengold.joltjni.BroadPhaseLayerFilter;
+import com.github.stephengold.joltjni.CapsuleShape;
+import com.github.stephengold.joltjni.ClosestHitCastShapeCollector;
+import com.github.stephengold.joltjni.ClosestHitCollideShapeCollector;
+import com.github.stephengold.joltjni.CollideShapeSettings;
+import com.github.stephengold.joltjni.ConvexHullShapeSettings;
+import com.github.stephengold.joltjni.CylinderShape;
+import com.github.stephengold.joltjni.HeightFieldShapeSettings;
+import com.github.stephengold.joltjni.JobSystem;
+import com.github.stephengold.joltjni.Jolt;
+import com.github.stephengold.joltjni.JphMath;
+import com.github.stephengold.joltjni.MeshShapeSettings;
+import com.github.stephengold.joltjni.NarrowPhaseQuery;
+import com.github.stephengold.joltjni.ObjectLayerFilter;
+import com.github.stephengold.joltjni.PhysicsSystem;
+import com.github.stephengold.joltjni.Quat;
+import com.github.stephengold.joltjni.RMat44;
+import com.github.stephengold.joltjni.RShapeCast;
+import com.github.stephengold.joltjni.RVec3;
+import com.github.stephengold.joltjni.RotatedTranslatedShapeSettings;
+import com.github.stephengold.joltjni.ShapeCastSettings;
+import com.github.stephengold.joltjni.SphereShape;
+import com.github.stephengold.joltjni.StaticCompoundShapeSettings;
+import com.github.stephengold.joltjni.TaperedCapsuleShapeSettings;
+import com.github.stephengold.joltjni.TaperedCylinderShapeSettings;
+import com.github.stephengold.joltjni.TempAllocator;
+import com.github.stephengold.joltjni.Vec3;
+import com.github.stephengold.joltjni.readonly.ConstAaBox;
+import com.github.stephengold.joltjni.readonly.ConstBroadPhaseQuery;
+import com.github.stephengold.joltjni.readonly.ConstShape;
+import com.github.stephengold.joltjni.readonly.QuatArg;
+import com.github.stephengold.joltjni.readonly.Vec3Arg;
+import com.github.stephengold.sportjolt.javaapp.util.JoltSetup;
+import com.github.stephengold.sportjolt.javaapp.util.NativeLibraryCache;
+import com.github.stephengold.sportjolt.javaapp.util.ShapeCooker;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Measure the narrowphase cost of collision detection for every pair of
+ * common shape types, plus the step and broadphase costs for a pile of
+ * bodies of each type.
+ * <p>
+ * For each pair, a static body with the target shape is queried using the
+ * other shape: an overlapping collide-shape query and a shape cast that
+ * passes through the target. Mesh and height-field shapes can't be used as
+ * query shapes or as dynamic bodies, so those cells are reported as "-".
+ * <p>
+ * For each pile, the benchmark reports the time to optimize the broadphase
+ * after adding the bodies, the mean step time, and the mean time per
+ * broadphase box query over the pile's region.
+ * <p>
+ * To compare the Sp and Dp flavors of the native libraries, run once with
+ * the default build type and flavor and once with (for example)
+ * "-Pbtf=ReleaseDp".
+ * <p>
+ * Optional arguments: number of queries per cell or pile (default 20,000),
+ * number of bodies per pile (default 500), number of timed steps per pile
+ * (default 200).
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+final public class CollisionCostBenchmark {
+    // *************************************************************************
+    // constants
+
+    /**
+     * spacing between adjacent bodies in each pile (in meters)
+     */
+    final private static float pileSpacing = 1.2f;
+    /**
+     * number of precomputed broadphase query boxes
+     */
+    final private static int poolSize = 1_024;
+    // *************************************************************************
+    // constructors
+
+    /**
+     * A private constructor to inhibit instantiation of this class.
+     */
+    private CollisionCostBenchmark() {
+        // do nothing
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Main entry point for the CollisionCostBenchmark application.
+     *
+     * @param arguments array of command-line arguments (not null)
+     */
+    public static void main(String[] arguments) {
+        int numQueries = BenchmarkSupport.parseInt(arguments, 0, 20_000);
+        int pileSize = BenchmarkSupport.parseInt(arguments, 1, 500);
+        int numSteps = BenchmarkSupport.parseInt(arguments, 2, 200);
+
+        JoltSetup.initialize();
+        System.out.printf("flavor=%s variant=%s%n",
+                Jolt.isDoublePrecision() ? "Dp" : "Sp",
+                NativeLibraryCache.loadedVariant());
+
+        Map<String, ConstShape> shapes = createShapes();
+        List<String> queryNames = new ArrayList<>(shapes.size());
+        for (String name : shapes.keySet()) {
+            if (canMove(name)) {
+                queryNames.add(name);
+            }
+        }
+
+        // Narrowphase matrices, 1 row per query shape:
+        for (boolean cast : new boolean[]{false, true}) {
+            System.out.println();
+            System.out.printf("%s (ns/query)%n",
+                    cast ? "cast shape" : "collide shape");
+            System.out.printf("%-16s", "query\\target");
+            for (String targetName : shapes.keySet()) {
+                System.out.printf(" %9.9s", targetName);
+            }
+            System.out.println();
+
+            for (String queryName : queryNames) {
+                System.out.printf("%-16s", queryName);
+                for (ConstShape target : shapes.values()) {
+                    double ns = timeQueries(shapes.get(queryName), target,
+                            cast, numQueries);
+                    System.out.printf(" %9.0f", ns);
+                }
+                System.out.println();
+            }
+        }
+
+        // Piles of dynamic bodies:
+        System.out.println();
+        System.out.printf("piles of %d bodies%n", pileSize);
+        System.out.printf("%-16s %9s %9s %9s%n",
+                "shape", "opt ms", "ms/step", "ns/bpQry");
+        TempAllocator tempAllocator = BenchmarkSupport.newTempAllocator();
+        JobSystem jobSystem = BenchmarkSupport.newJobSystem();
+        for (Map.Entry<String, ConstShape> entry : shapes.entrySet()) {
+            String name = entry.getKey();
+            if (!canMove(name)) {
+                System.out.printf("%-16s %9s %9s %9s%n", name, "-", "-", "-");
+                continue;
+            }
+            PhysicsSystem system
+                    = BenchmarkSupport.createSystem(pileSize + 1, 2);
+            BenchmarkSupport.addFloor(system);
+            BenchmarkSupport.addPile(
+                    system, entry.getValue(), pileSize, pileSpacing);
+            long optimizeStart = System.nanoTime();
+            system.optimizeBroadPhase();
+            long optimizeNanos = System.nanoTime() - optimizeStart;
+
+            float timePerStep = 1f / 60f;
+            BenchmarkSupport.step(
+                    system, 30, timePerStep, tempAllocator, jobSystem);
+            long nanos = BenchmarkSupport.step(
+                    system, numSteps, timePerStep, tempAllocator, jobSystem);
+            double queryNs
+                    = timeBroadPhaseQueries(system, pileSize, numQueries);
+            System.out.printf("%-16s %9.3f %9.3f %9.0f%n", name,
+                    1e-6 * optimizeNanos, 1e-6 * nanos / numSteps, queryNs);
+
+            system.close();
+        }
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Test whether the named shape type can be used for a query shape or a
+     * dynamic body.
+     *
+     * @param name the name of the shape type (not null)
+     * @return true if it can, otherwise false
+     */
+    private static boolean canMove(String name) {
+        boolean result = !name.equals("mesh") && !name.equals("heightfield");
+        return result;
+    }
+
+    /**
+     * Create one shape of each type, each about 1 meter across.
+     *
+     * @return a new map from type names to shapes, in display order
+     */
+    private static Map<String, ConstShape> createShapes() {
+        Map<String, ConstShape> result = new LinkedHashMap<>(16);
+        result.put("sphere", new SphereShape(0.5f));
+        result.put("box", new BoxShape(0.5f));
+        result.put("capsule", new CapsuleShape(0.25f, 0.25f));
+        result.put("taperedCapsule", ShapeCooker.cookNow(
+                new TaperedCapsuleShapeSettings(0.25f, 0.2f, 0.3f)));
+        result.put("cylinder", new CylinderShape(0.5f, 0.5f));
+        result.put("taperedCylinder", ShapeCooker.cookNow(
+                new TaperedCylinderShapeSettings(0.5f, 0.3f, 0.5f)));
+
+        // convex hull of 42 points on a sphere:
+        List<Vec3Arg> points = new ArrayList<>(42);
+        for (int i = 0; i < 42; ++i) {
+            double y = 1. - 2. * (i + 0.5) / 42.;
+            double r = Math.sqrt(1. - y * y);
+            double phi = i * Math.PI * (3. - Math.sqrt(5.));
+            points.add(new Vec3((float) (0.5 * r * Math.cos(phi)),
+                    (float) (0.5 * y), (float) (0.5 * r * Math.sin(phi))));
+        }
+        result.put("convexHull",
+                ShapeCooker.cookNow(new ConvexHullShapeSettings(points)));
+
+        result.put("mesh", ShapeCooker.cookNow(newGridMesh(8, 0.25f)));
+
+        int sampleCount = 16;
+        FloatBuffer heights = ByteBuffer.allocateDirect(
+                4 * sampleCount * sampleCount)
+                .order(ByteOrder.nativeOrder()).asFloatBuffer();
+        for (int i = 0; i < sampleCount * sampleCount; ++i) {
+            heights.put(i, 0.05f * (i % 3));
+        }
+        Vec3Arg offset = new Vec3(-1f, 0f, -1f);
+        Vec3Arg scale = new Vec3(2f / (sampleCount - 1), 1f,
+                2f / (sampleCount - 1));
+        result.put("heightfield", ShapeCooker.cookNow(
+                new HeightFieldShapeSettings(
+                        heights, offset, scale, sampleCount)));
+
+        ConstShape smallBox = new BoxShape(new Vec3(0.5f, 0.2f, 0.2f));
+        QuatArg y2x = Quat.sEulerAngles(0f, 0f, JphMath.JPH_PI / 2f);
+        result.put("compound", ShapeCooker.cookNow(
+                new StaticCompoundShapeSettings()
+                        .addShape(new Vec3(0f, 0.3f, 0f), y2x, smallBox)
+                        .addShape(0f, -0.3f, 0f, smallBox)));
+
+        QuatArg tilt = Quat.sEulerAngles(0.3f, 0f, 0.4f);
+        result.put("rotTranslated", ShapeCooker.cookNow(
+                new RotatedTranslatedShapeSettings(
+                        new Vec3(0f, 0.1f, 0f), tilt, new BoxShape(0.4f))));
+
+        return result;
+    }
+
+    /**
+     * Generate the settings for a square grid of triangles in the X-Z plane,
+     * centered on the origin.
+     *
+     * @param cellsPerSide the number of grid cells per side (&gt;0)
+     * @param cellSize the size of each grid cell (&gt;0)
+     * @return a new object
+     */
+    private static MeshShapeSettings newGridMesh(
+            int cellsPerSide, float cellSize) {
+        int perSide = cellsPerSide + 1;
+        float halfSize = 0.5f * cellsPerSide * cellSize;
+        FloatBuffer vertices = ByteBuffer.allocateDirect(
+                12 * perSide * perSide)
+                .order(ByteOrder.nativeOrder()).asFloatBuffer();
+        for (int z = 0; z < perSide; ++z) {
+            for (int x = 0; x < perSide; ++x) {
+                vertices.put(x * cellSize - halfSize).put(0f)
+                        .put(z * cellSize - halfSize);
+            }
+        }
+        vertices.flip();
+
+        IntBuffer indices = ByteBuffer.allocateDirect(
+                24 * cellsPerSide * cellsPerSide)
+                .order(ByteOrder.nativeOrder()).asIntBuffer();
+        for (int z = 0; z < cellsPerSide; ++z) {
+            for (int x = 0; x < cellsPerSide; ++x) {
+                int i = z * perSide + x;
+                indices.put(i).put(i + perSide).put(i + 1);
+                indices.put(i + 1).put(i + perSide).put(i + perSide + 1);
+            }
+        }
+        indices.flip();
+
+        MeshShapeSettings result = new MeshShapeSettings(vertices, indices);
+        return result;
+    }
+
+    /**
+     * Time broadphase box queries over the region occupied by a pile.
+     *
+     * @param system the system to query (not null)
+     * @param pileSize the number of bodies in the pile (&gt;0)
+     * @param numQueries the number of timed queries (&gt;0)
+     * @return the mean time per query (in nanoseconds)
+     */
+    private static double timeBroadPhaseQueries(
+            PhysicsSystem system, int pileSize, int numQueries) {
+        int perRow = (int) Math.ceil(Math.cbrt(pileSize));
+        float halfWidth = 0.5f * pileSpacing * perRow;
+        float height = pileSpacing * (perRow + 1);
+        Random random = new Random(3L);
+        ConstAaBox[] boxes = new ConstAaBox[poolSize];
+        for (int i = 0; i < poolSize; ++i) {
+            Vec3 center = new Vec3(
+                    halfWidth * (2f * random.nextFloat() - 1f),
+                    height * random.nextFloat(),
+                    halfWidth * (2f * random.nextFloat() - 1f));
+            boxes[i] = new AaBox(center, 1f);
+        }
+
+        ConstBroadPhaseQuery query = system.getBroadPhaseQuery();
+        BroadPhaseLayerFilter bpFilter = new BroadPhaseLayerFilter();
+        ObjectLayerFilter objFilter = new ObjectLayerFilter();
+        AllHitCollideShapeBodyCollector collector
+                = new AllHitCollideShapeBodyCollector();
+
+        int numWarmups = Math.max(1, numQueries / 10);
+        long startNanos = 0L;
+        for (int i = 0; i < numWarmups + numQueries; ++i) {
+            if (i == numWarmups) {
+                startNanos = System.nanoTime();
+            }
+            collector.reset();
+            query.collideAaBox(
+                    boxes[i % poolSize], collector, bpFilter, objFilter);
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+        double result = elapsedNanos / (double) numQueries;
+
+        return result;
+    }
+
+    /**
+     * Time narrowphase queries of the specified shape against a static body
+     * with the specified target shape.
+     *
+     * @param queryShape the shape to query with (not null)
+     * @param targetShape the shape of the static body (not null)
+     * @param cast true to cast the query shape through the target, false to
+     * collide it while overlapping
+     * @param numQueries the number of timed queries (&gt;0)
+     * @return the mean time per query (in nanoseconds)
+     */
+    private static double timeQueries(ConstShape queryShape,
+            ConstShape targetShape, boolean cast, int numQueries) {
+        PhysicsSystem system = BenchmarkSupport.createSystem(1, 1);
+        BenchmarkSupport.addStaticBody(system, targetShape);
+        system.optimizeBroadPhase();
+        NarrowPhaseQuery query = system.getNarrowPhaseQuery();
+
+        Vec3Arg unitScale = new Vec3(1f, 1f, 1f);
+        RVec3 baseOffset = new RVec3();
+        CollideShapeSettings collideSettings = new CollideShapeSettings();
+        ClosestHitCollideShapeCollector collideCollector
+                = new ClosestHitCollideShapeCollector();
+        RMat44 overlapping = RMat44.sTranslation(new RVec3(0., 0.3, 0.));
+
+        ShapeCastSettings castSettings = new ShapeCastSettings();
+        ClosestHitCastShapeCollector castCollector
+                = new ClosestHitCastShapeCollector();
+        RShapeCast shapeCast = new RShapeCast(queryShape, unitScale,
+                RMat44.sTranslation(new RVec3(0., 3., 0.)),
+                new Vec3(0f, -6f, 0f));
+
+        int numWarmups = Math.max(1, numQueries / 10);
+        long startNanos = 0L;
+        for (int i = 0; i < numWarmups + numQueries; ++i) {
+            if (i == numWarmups) {
+                startNanos = System.nanoTime();
+            }
+            if (cast) {
+                castCollector.reset();
+                query.castShape(
+                        shapeCast, castSettings, baseOffset, castCollector);
+            } else {
+                collideCollector.reset();
+                query.collideShape(queryShape, unitScale, overlapping,
+                        collideSettings, baseOffset, collideCollector);
+            }
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+        double result = elapsedNanos / (double) numQueries;
+        system.close();
+
+        return result;
+    }
+}
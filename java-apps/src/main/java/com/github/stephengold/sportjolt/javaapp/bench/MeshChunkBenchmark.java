@@ -0,0 +1,247 @@
+/*
+ Copyright (c) 2026 Stephen Gold and Yanis Boudiaf
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+    list of conditions and the following disclaimer.
+
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+    this list of conditions and the following disclaimer in the documentation
+    and/or other materials provided with the distribution.
+
+ 3. Neither the name of the copyright holder nor the names of its
+    contributors may be used to endorse or promote products derived from
+    this software without specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.github.stephengold.sportjolt.javaapp.bench;
+
+import com.github.stephengold.joltjni.NarrowPhaseQuery;
+import com.github.stephengold.joltjni.PhysicsSystem;
+import com.github.stephengold.joltjni.RRayCast;
+import com.github.stephengold.joltjni.RVec3;
+import com.github.stephengold.joltjni.RayCastResult;
+import com.github.stephengold.joltjni.ShapeRefC;
+import com.github.stephengold.joltjni.Vec3;
+import com.github.stephengold.sportjolt.javaapp.util.JoltSetup;
+import com.github.stephengold.sportjolt.javaapp.util.MeshChunker;
+import com.github.stephengold.sportjolt.javaapp.util.ShapeCooker;
+import java.io.IOException;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Measure the cooking time and ray-cast speed of a large terrain mesh,
+ * loaded from memory-mapped files and cooked as a single mesh shape or as
+ * spatially partitioned chunks of various sizes.
+ * <p>
+ * Optional arguments: number of grid cells per side (default 700, which
+ * yields 980,000 triangles), number of rays (default 100,000).
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+final public class MeshChunkBenchmark {
+    // *************************************************************************
+    // constants
+
+    /**
+     * maximum triangles per chunk for each trial (0 = a single shape)
+     */
+    final private static int[] chunkSizes = {0, 262_144, 65_536, 16_384, 4_096};
+    // *************************************************************************
+    // constructors
+
+    /**
+     * A private constructor to inhibit instantiation of this class.
+     */
+    private MeshChunkBenchmark() {
+        // do nothing
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Main entry point for the MeshChunkBenchmark application.
+     *
+     * @param arguments array of command-line arguments (not null)
+     * @throws IOException if the temporary mesh files can't be written or
+     * mapped
+     */
+    public static void main(String[] arguments) throws IOException {
+        int gridSize = BenchmarkSupport.parseInt(arguments, 0, 700);
+        int numRays = BenchmarkSupport.parseInt(arguments, 1, 100_000);
+
+        JoltSetup.initialize();
+
+        // Write a terrain mesh to temporary files, then map them:
+        Path vertexPath = Files.createTempFile("terrain", ".vertices");
+        Path indexPath = Files.createTempFile("terrain", ".indices");
+        vertexPath.toFile().deleteOnExit();
+        indexPath.toFile().deleteOnExit();
+        writeTerrain(gridSize, vertexPath, indexPath);
+
+        long startNanos = System.nanoTime();
+        FloatBuffer vertices = MeshChunker.mapVertices(vertexPath);
+        IntBuffer indices = MeshChunker.mapIndices(indexPath);
+        int numTriangles = indices.limit() / 3;
+        System.out.printf("mapped %d triangles in %.1f ms%n", numTriangles,
+                1e-6 * (System.nanoTime() - startNanos));
+
+        for (int maxTriangles : chunkSizes) {
+            if (maxTriangles == 0) {
+                maxTriangles = numTriangles;
+            } else if (maxTriangles >= numTriangles) {
+                continue;
+            }
+            runTrial(vertices, indices, maxTriangles, gridSize, numRays);
+        }
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Cast the first rays of the specified array against the specified
+     * system.
+     *
+     * @param system the system to query (not null)
+     * @param rays the rays to cast (not null, unaffected)
+     * @param numRays the number of rays to cast (&ge;0, &le;rays.length)
+     * @return the number of hits (&ge;0)
+     */
+    private static int castRays(
+            PhysicsSystem system, RRayCast[] rays, int numRays) {
+        NarrowPhaseQuery query = system.getNarrowPhaseQuery();
+        RayCastResult hit = new RayCastResult();
+        float missFraction = 1f + Math.ulp(1f); // as in Jolt's constructor
+
+        int result = 0;
+        for (int i = 0; i < numRays; ++i) {
+            hit.setFraction(missFraction);
+            if (query.castRay(rays[i], hit)) {
+                ++result;
+            }
+        }
+        hit.close();
+
+        return result;
+    }
+
+    /**
+     * Generate vertical rays at random locations over the terrain.
+     *
+     * @param gridSize the number of grid cells per side (&gt;0)
+     * @param numRays the number of rays to generate (&ge;0)
+     * @return a new array of new rays
+     */
+    private static RRayCast[] newRays(int gridSize, int numRays) {
+        Random random = new Random(1L);
+        Vec3 direction = new Vec3(0f, -100f, 0f);
+        RVec3 origin = new RVec3();
+
+        RRayCast[] result = new RRayCast[numRays];
+        for (int i = 0; i < numRays; ++i) {
+            origin.setX(gridSize * random.nextFloat());
+            origin.setY(50f);
+            origin.setZ(gridSize * random.nextFloat());
+            result[i] = new RRayCast(origin, direction);
+        }
+
+        return result;
+    }
+
+    /**
+     * Cook the mesh in chunks of the specified size, add them to a new
+     * system, and time ray casts against them.
+     *
+     * @param vertices the vertex locations (not null, unaffected)
+     * @param indices the vertex indices (not null, unaffected)
+     * @param maxTriangles the maximum number of triangles per chunk (&gt;0)
+     * @param gridSize the number of grid cells per side (&gt;0)
+     * @param numRays the number of rays to cast (&ge;0)
+     */
+    private static void runTrial(FloatBuffer vertices, IntBuffer indices,
+            int maxTriangles, int gridSize, int numRays) {
+        long startNanos = System.nanoTime();
+        List<CompletableFuture<ShapeRefC>> futures = MeshChunker.cookChunks(
+                vertices, indices, maxTriangles, ForkJoinPool.commonPool());
+        List<ShapeRefC> shapes = ShapeCooker.awaitAll(futures);
+        long cookNanos = System.nanoTime() - startNanos;
+
+        int numChunks = shapes.size();
+        PhysicsSystem system = BenchmarkSupport.createSystem(numChunks, 1);
+        for (ShapeRefC shape : shapes) {
+            if (shape != null) { // skip chunks that failed to cook
+                BenchmarkSupport.addStaticBody(system, shape);
+            }
+        }
+        system.optimizeBroadPhase();
+
+        // Build the rays outside the timed region:
+        RRayCast[] rays = newRays(gridSize, numRays);
+        castRays(system, rays, numRays / 10); // warm up
+        startNanos = System.nanoTime();
+        int numHits = castRays(system, rays, numRays);
+        long castNanos = System.nanoTime() - startNanos;
+        for (RRayCast ray : rays) {
+            ray.close();
+        }
+
+        System.out.printf("chunks=%-5d maxTris=%-7d cook=%8.1f ms"
+                + "  rays=%d hits=%d  %.2f us/ray%n", numChunks,
+                maxTriangles, 1e-6 * cookNanos, numRays, numHits,
+                1e-3 * castNanos / Math.max(1, numRays));
+    }
+
+    /**
+     * Generate a rolling terrain mesh on a square grid and write it to the
+     * specified files.
+     *
+     * @param gridSize the number of grid cells per side (&gt;0)
+     * @param vertexPath the destination for vertex data (not null)
+     * @param indexPath the destination for index data (not null)
+     * @throws IOException if the files can't be written
+     */
+    private static void writeTerrain(
+            int gridSize, Path vertexPath, Path indexPath) throws IOException {
+        int perSide = gridSize + 1;
+        FloatBuffer vertices = FloatBuffer.allocate(3 * perSide * perSide);
+        for (int z = 0; z < perSide; ++z) {
+            for (int x = 0; x < perSide; ++x) {
+                float y = (float) (Math.sin(0.05 * x) * Math.cos(0.07 * z));
+                vertices.put(x).put(2f * y).put(z);
+            }
+        }
+        vertices.flip();
+
+        IntBuffer indices = IntBuffer.allocate(6 * gridSize * gridSize);
+        for (int z = 0; z < gridSize; ++z) {
+            for (int x = 0; x < gridSize; ++x) {
+                int i = z * perSide + x;
+                indices.put(i).put(i + perSide).put(i + 1);
+                indices.put(i + 1).put(i + perSide).put(i + perSide + 1);
+            }
+        }
+        indices.flip();
+
+        MeshChunker.writeVertices(vertices, vertexPath);
+        MeshChunker.writeIndices(indices, indexPath);
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ Copyright (c) 2026 Stephen Gold and Yanis Boudiaf
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+    list of conditions and the following disclaimer.
+
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+    this list of conditions and the following disclaimer in the documentation
+    and/or other materials provided with the distribution.
+
+ 3. Neither the name of the copyright holder nor the names of its
+    contributors may be used to endorse or promote products derived from
+    this software without specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.github.stephengold.sportjolt.javaapp.bench;
+
+import com.github.stephengold.joltjni.JobSystem;
+import com.github.stephengold.joltjni.PhysicsSystem;
+import com.github.stephengold.joltjni.SphereShape;
+import com.github.stephengold.joltjni.TempAllocator;
+import com.github.stephengold.joltjni.readonly.ConstShape;
+import com.github.stephengold.sportjolt.javaapp.util.JoltSetup;
+import com.github.stephengold.sportjolt.javaapp.util.NativeLibraryCache;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Measure the time spent in each phase of starting a physics simulation, from
+ * JVM launch to the end of the first simulation step.
+ * <p>
+ * To measure the effect of class-data sharing, run the "dumpCdsArchive"
+ * Gradle task once, then compare "StartupBenchmark" with
+ * "StartupBenchmarkCds".
+ * <p>
+ * Optional argument: number of dynamic bodies (default 1).
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+final public class StartupBenchmark {
+    // *************************************************************************
+    // fields
+
+    /**
+     * end time of the previous phase (from {@code System.nanoTime()})
+     */
+    private static long phaseStart;
+    // *************************************************************************
+    // constructors
+
+    /**
+     * A private constructor to inhibit instantiation of this class.
+     */
+    private StartupBenchmark() {
+        // do nothing
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Main entry point for the StartupBenchmark application.
+     *
+     * @param arguments array of command-line arguments (not null)
+     */
+    public static void main(String[] arguments) {
+        long jvmStartMillis = ManagementFactory.getRuntimeMXBean()
+                .getStartTime();
+        long toMainMillis = System.currentTimeMillis() - jvmStartMillis;
+        System.out.printf("%-20s %12.2f ms%n", "JVM launch to main",
+                (double) toMainMillis); // only millisecond resolution
+
+        int numBodies = BenchmarkSupport.parseInt(arguments, 0, 1);
+        long totalStart = System.nanoTime();
+        phaseStart = totalStart;
+
+        NativeLibraryCache.load();
+        endPhase("native load");
+
+        JoltSetup.installServices();
+        endPhase("callbacks");
+
+        JoltSetup.createFactory();
+        endPhase("factory and types");
+
+        PhysicsSystem system
+                = BenchmarkSupport.createSystem(numBodies + 1, 1);
+        endPhase("PhysicsSystem init");
+
+        BenchmarkSupport.addFloor(system);
+        ConstShape ballShape = new SphereShape(0.3f);
+        BenchmarkSupport.addPile(system, ballShape, numBodies, 1f);
+        system.optimizeBroadPhase();
+        endPhase("populateSystem");
+
+        TempAllocator tempAllocator = BenchmarkSupport.newTempAllocator();
+        JobSystem jobSystem = BenchmarkSupport.newJobSystem();
+        endPhase("job system");
+
+        BenchmarkSupport.step(system, 1, 0.02f, tempAllocator, jobSystem);
+        endPhase("first step");
+
+        double totalMs = 1e-6 * (System.nanoTime() - totalStart);
+        System.out.printf("%-20s %12.2f ms%n", "total after main", totalMs);
+        System.out.printf("native variant=%s cacheHit=%b%n",
+                NativeLibraryCache.loadedVariant(),
+                NativeLibraryCache.lastLoadWasHit());
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Print the duration of the phase that just ended and start the next one.
+     *
+     * @param phaseName the name of the phase that ended (not null)
+     */
+    private static void endPhase(String phaseName) {
+        long now = System.nanoTime();
+        System.out.printf("%-20s %12.2f ms%n", phaseName,
+                1e-6 * (now - phaseStart));
+        phaseStart = now;
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ Copyright (c) 2026 Stephen Gold and Yanis Boudiaf
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+    list of conditions and the following disclaimer.
+
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+    this list of conditions and the following disclaimer in the documentation
+    and/or other materials provided with the distribution.
+
+ 3. Neither the name of the copyright holder nor the names of its
+    contributors may be used to endorse or promote products derived from
+    this software without specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.github.stephengold.sportjolt.javaapp.bench;
+
+import com.github.stephengold.joltjni.BoxShape;
+import com.github.stephengold.joltjni.JobSystem;
+import com.github.stephengold.joltjni.PhysicsSystem;
+import com.github.stephengold.joltjni.TempAllocator;
+import com.github.stephengold.joltjni.readonly.ConstShape;
+import com.github.stephengold.sportjolt.javaapp.util.JoltSetup;
+import com.github.stephengold.sportjolt.javaapp.util.NativeLibraryCache;
+
+/**
+ * Measure the simulation step time of the native-library variant selected by
+ * {@code NativeLibraryCache}.
+ * <p>
+ * Run once with the default selection and once with
+ * "-Djoltjni.variant=baseline" to quantify the difference between an
+ * optimized variant and the baseline build.
+ * <p>
+ * Optional arguments: number of boxes (default 2000), number of timed steps
+ * (default 300).
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+final public class VariantBenchmark {
+    // *************************************************************************
+    // constructors
+
+    /**
+     * A private constructor to inhibit instantiation of this class.
+     */
+    private VariantBenchmark() {
+        // do nothing
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Main entry point for the VariantBenchmark application.
+     *
+     * @param arguments array of command-line arguments (not null)
+     */
+    public static void main(String[] arguments) {
+        int numBodies = BenchmarkSupport.parseInt(arguments, 0, 2_000);
+        int numSteps = BenchmarkSupport.parseInt(arguments, 1, 300);
+
+        long loadNanos = NativeLibraryCache.load();
+        System.out.printf("variant=%s cacheHit=%b load=%.1f ms%n",
+                NativeLibraryCache.loadedVariant(),
+                NativeLibraryCache.lastLoadWasHit(), 1e-6 * loadNanos);
+        JoltSetup.start();
+
+        PhysicsSystem system
+                = BenchmarkSupport.createSystem(numBodies + 1, 1);
+        BenchmarkSupport.addFloor(system);
+        ConstShape boxShape = new BoxShape(0.5f);
+        BenchmarkSupport.addPile(system, boxShape, numBodies, 1.1f);
+        system.optimizeBroadPhase();
+
+        TempAllocator tempAllocator = BenchmarkSupport.newTempAllocator();
+        JobSystem jobSystem = BenchmarkSupport.newJobSystem();
+        float timePerStep = 1f / 60f;
+
+        // Warm up, then measure:
+        int numWarmupSteps = 60;
+        BenchmarkSupport.step(
+                system, numWarmupSteps, timePerStep, tempAllocator, jobSystem);
+        long nanos = BenchmarkSupport.step(
+                system, numSteps, timePerStep, tempAllocator, jobSystem);
+
+        double msPerStep = 1e-6 * nanos / numSteps;
+        System.out.printf("bodies=%d steps=%d mean=%.3f ms/step%n",
+                numBodies, numSteps, msPerStep);
+    }
+}
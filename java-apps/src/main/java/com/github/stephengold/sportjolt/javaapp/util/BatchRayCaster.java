@@ -0,0 +1,289 @@
+/*
+ Copyright (c) 2026 Stephen Gold and Yanis Boudiaf
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+    list of conditions and the following disclaimer.
+
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+    this list of conditions and the following disclaimer in the documentation
+    and/or other materials provided with the distribution.
+
+ 3. Neither the name of the copyright holder nor the names of its
+    contributors may be used to endorse or promote products derived from
+    this software without specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.github.stephengold.sportjolt.javaapp.util;
+
+import com.github.stephengold.joltjni.BodyFilter;
+import com.github.stephengold.joltjni.BroadPhaseLayerFilter;
+import com.github.stephengold.joltjni.Jolt;
+import com.github.stephengold.joltjni.NarrowPhaseQuery;
+import com.github.stephengold.joltjni.ObjectLayerFilter;
+import com.github.stephengold.joltjni.PhysicsSystem;
+import com.github.stephengold.joltjni.RRayCast;
+import com.github.stephengold.joltjni.RVec3;
+import com.github.stephengold.joltjni.RayCastResult;
+import com.github.stephengold.joltjni.Vec3;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Cast many rays against the narrowphase in parallel, reading the rays from
+ * a packed buffer and writing the closest hits to packed buffers.
+ * <p>
+ * Each ray is described by 6 floats: its origin (x, y, z) and its direction
+ * (x, y, z), both in system coordinates. The length of the direction is the
+ * length of the ray. For each ray, the caster stores the hit fraction, the
+ * ID of the body hit, and the ID of the subshape hit. Rays that miss store
+ * {@code Float.POSITIVE_INFINITY}, {@link #noBody}, and
+ * {@code Jolt.cEmptySubShapeId}.
+ * <p>
+ * The rays are divided into contiguous slices, one per worker, and the
+ * caller's thread handles the last slice. Each thread reuses its own
+ * vectors, result object, and query filters. The only per-ray allocation is
+ * the {@code RRayCast} passed to the query, because jolt-jni offers no way
+ * to reposition an existing one.
+ * <p>
+ * Buffers are accessed by absolute index starting at 0, so their positions
+ * are ignored, but their limits must accommodate all the rays. The system
+ * mustn't be stepped or modified while a batch is in progress.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+final public class BatchRayCaster {
+    // *************************************************************************
+    // constants
+
+    /**
+     * number of floats per ray in the input buffer
+     */
+    final public static int floatsPerRay = 6;
+    /**
+     * body ID stored for rays that miss (same bits as Jolt's invalid body ID)
+     */
+    final public static int noBody = -1;
+    /**
+     * minimum number of rays per slice, to amortize the cost of dispatch
+     */
+    final private static int minSliceSize = 256;
+    // *************************************************************************
+    // fields
+
+    /**
+     * executor that runs the worker slices
+     */
+    final private ExecutorService executor;
+    /**
+     * maximum number of slices per batch (&gt;0)
+     */
+    final private int maxSlices;
+    /**
+     * reusable objects for each thread
+     */
+    final private ThreadLocal<Scratch> scratch
+            = ThreadLocal.withInitial(Scratch::new);
+    // *************************************************************************
+    // constructors
+
+    /**
+     * Instantiate a caster that uses the common fork-join pool.
+     */
+    public BatchRayCaster() {
+        this(ForkJoinPool.commonPool(),
+                ForkJoinPool.commonPool().getParallelism() + 1);
+    }
+
+    /**
+     * Instantiate a caster that uses the specified executor.
+     *
+     * @param executor the executor to run worker slices (not null, alias
+     * created)
+     * @param maxSlices the maximum number of slices per batch, including the
+     * one handled by the caller's thread (&gt;0)
+     */
+    public BatchRayCaster(ExecutorService executor, int maxSlices) {
+        if (maxSlices <= 0) {
+            throw new IllegalArgumentException("maxSlices = " + maxSlices);
+        }
+
+        this.executor = executor;
+        this.maxSlices = maxSlices;
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Cast the specified rays against the specified system and wait for all
+     * results.
+     *
+     * @param system the system to query (not null)
+     * @param rays the rays to cast (6 floats per ray, not null, unaffected)
+     * @param numRays the number of rays to cast (&ge;0)
+     * @param storeFractions storage for the hit fractions (1 float per ray,
+     * not null, modified)
+     * @param storeBodyIds storage for the IDs of the bodies hit (1 int per
+     * ray, not null, modified)
+     * @param storeSubShapeIds storage for the IDs of the subshapes hit (1 int
+     * per ray, or null to skip)
+     * @return the number of rays that hit (&ge;0, &le;numRays)
+     * @throws IllegalArgumentException if {@code numRays} is negative or a
+     * buffer's limit is too small
+     */
+    public int castRays(PhysicsSystem system, FloatBuffer rays, int numRays,
+            FloatBuffer storeFractions, IntBuffer storeBodyIds,
+            IntBuffer storeSubShapeIds) {
+        if (numRays < 0) {
+            throw new IllegalArgumentException("numRays = " + numRays);
+        }
+        checkLimit("rays", rays.limit(), floatsPerRay * numRays);
+        checkLimit("storeFractions", storeFractions.limit(), numRays);
+        checkLimit("storeBodyIds", storeBodyIds.limit(), numRays);
+        if (storeSubShapeIds != null) {
+            checkLimit("storeSubShapeIds", storeSubShapeIds.limit(), numRays);
+        }
+        NarrowPhaseQuery query = system.getNarrowPhaseQuery();
+
+        int numSlices = Math.min(maxSlices, numRays / minSliceSize);
+        numSlices = Math.max(numSlices, 1);
+        int sliceSize = (numRays + numSlices - 1) / numSlices;
+
+        List<CompletableFuture<Integer>> futures
+                = new ArrayList<>(numSlices - 1);
+        for (int i = 0; i < numSlices - 1; ++i) {
+            int start = i * sliceSize;
+            futures.add(CompletableFuture.supplyAsync(
+                    () -> castSlice(query, rays, start, start + sliceSize,
+                            storeFractions, storeBodyIds, storeSubShapeIds),
+                    executor));
+        }
+        int result = castSlice(query, rays, (numSlices - 1) * sliceSize,
+                numRays, storeFractions, storeBodyIds, storeSubShapeIds);
+
+        for (CompletableFuture<Integer> future : futures) {
+            result += future.join();
+        }
+
+        return result;
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Verify that a buffer's limit is large enough.
+     *
+     * @param name the name of the buffer argument (not null)
+     * @param limit the buffer's limit (&ge;0)
+     * @param required the minimum acceptable limit (&ge;0)
+     * @throws IllegalArgumentException if the limit is too small
+     */
+    private static void checkLimit(String name, int limit, int required) {
+        if (limit < required) {
+            throw new IllegalArgumentException(
+                    name + ".limit() = " + limit + ", required " + required);
+        }
+    }
+
+    /**
+     * Cast a contiguous range of rays on the current thread.
+     *
+     * @param query the narrowphase interface to query (not null)
+     * @param rays the rays to cast (6 floats per ray, not null, unaffected)
+     * @param start the index of the first ray to cast (&ge;0)
+     * @param end one plus the index of the last ray to cast (&ge;start)
+     * @param storeFractions storage for the hit fractions (not null,
+     * modified)
+     * @param storeBodyIds storage for the body IDs (not null, modified)
+     * @param storeSubShapeIds storage for the subshape IDs (may be null)
+     * @return the number of rays that hit (&ge;0)
+     */
+    private int castSlice(NarrowPhaseQuery query, FloatBuffer rays,
+            int start, int end, FloatBuffer storeFractions,
+            IntBuffer storeBodyIds, IntBuffer storeSubShapeIds) {
+        Scratch tmp = scratch.get();
+        float missFraction = 1f + Math.ulp(1f); // as in Jolt's constructor
+
+        int result = 0;
+        for (int rayIndex = start; rayIndex < end; ++rayIndex) {
+            int offset = floatsPerRay * rayIndex;
+            tmp.origin.setX(rays.get(offset));
+            tmp.origin.setY(rays.get(offset + 1));
+            tmp.origin.setZ(rays.get(offset + 2));
+            tmp.direction.set(rays.get(offset + 3), rays.get(offset + 4),
+                    rays.get(offset + 5));
+            RRayCast ray = new RRayCast(tmp.origin, tmp.direction);
+
+            tmp.hit.setFraction(missFraction);
+            boolean isHit = query.castRay(ray, tmp.hit, tmp.bpFilter,
+                    tmp.objFilter, tmp.bodyFilter);
+            ray.close(); // free the native ray without waiting for the cleaner
+            if (isHit) {
+                storeFractions.put(rayIndex, tmp.hit.getFraction());
+                storeBodyIds.put(rayIndex, tmp.hit.getBodyId());
+                if (storeSubShapeIds != null) {
+                    storeSubShapeIds.put(
+                            rayIndex, tmp.hit.getSubShapeId2());
+                }
+                ++result;
+            } else {
+                storeFractions.put(rayIndex, Float.POSITIVE_INFINITY);
+                storeBodyIds.put(rayIndex, noBody);
+                if (storeSubShapeIds != null) {
+                    storeSubShapeIds.put(rayIndex, Jolt.cEmptySubShapeId);
+                }
+            }
+        }
+
+        return result;
+    }
+    // *************************************************************************
+    // nested classes
+
+    /**
+     * Reusable objects for a single thread.
+     */
+    final private static class Scratch {
+        /**
+         * accepts all bodies
+         */
+        final BodyFilter bodyFilter = new BodyFilter();
+        /**
+         * accepts all broadphase layers
+         */
+        final BroadPhaseLayerFilter bpFilter = new BroadPhaseLayerFilter();
+        /**
+         * accepts all object layers
+         */
+        final ObjectLayerFilter objFilter = new ObjectLayerFilter();
+        /**
+         * direction of the current ray
+         */
+        final Vec3 direction = new Vec3();
+        /**
+         * origin of the current ray
+         */
+        final RVec3 origin = new RVec3();
+        /**
+         * closest hit of the current ray
+         */
+        final RayCastResult hit = new RayCastResult();
+    }
+}
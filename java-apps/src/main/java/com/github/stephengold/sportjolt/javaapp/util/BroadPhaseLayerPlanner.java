@@ -0,0 +1,429 @@
+/*
+ Copyright (c) 2026 Stephen Gold and Yanis Boudiaf
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+    list of conditions and the following disclaimer.
+
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+    this list of conditions and the following disclaimer in the documentation
+    and/or other materials provided with the distribution.
+
+ 3. Neither the name of the copyright holder nor the names of its
+    contributors may be used to endorse or promote products derived from
+    this software without specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.github.stephengold.sportjolt.javaapp.util;
+
+import com.github.stephengold.joltjni.BroadPhaseLayerFilter;
+import com.github.stephengold.joltjni.BroadPhaseLayerInterfaceTable;
+import com.github.stephengold.joltjni.ObjectLayerPairFilterTable;
+import com.github.stephengold.joltjni.ObjectVsBroadPhaseLayerFilterTable;
+import com.github.stephengold.joltjni.SpecifiedBroadPhaseLayerFilter;
+import com.github.stephengold.joltjni.enumerate.EMotionType;
+import com.github.stephengold.joltjni.readonly.ConstBody;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Profile how object layers are used and propose a mapping from object
+ * layers to broadphase layers.
+ * <p>
+ * Each broadphase layer has its own bounding-volume tree. Putting every
+ * object layer in a single broadphase layer is simple, but it means the tree
+ * holding (say) 200,000 static props gets updated whenever anything moves,
+ * and every query walks the whole tree. The planner counts bodies (by motion
+ * type) and queries (by targeted object layers) and proposes:
+ * <ul>
+ * <li>a broadphase layer for object layers that are mostly static, which
+ * rarely needs rebuilding,</li>
+ * <li>a broadphase layer for the remaining (moving) object layers, and</li>
+ * <li>a separate broadphase layer for each object layer that's frequently
+ * queried on its own, as long as the limit allows.</li>
+ * </ul>
+ * <p>
+ * The planner also tracks which object layers collide, so it can build all
+ * 3 tables that {@code PhysicsSystem.init()} requires. Counting methods are
+ * thread-safe.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+final public class BroadPhaseLayerPlanner {
+    // *************************************************************************
+    // constants
+
+    /**
+     * minimum fraction of all queries that target an object layer alone for
+     * that layer to get its own broadphase layer
+     */
+    final private static double isolateQueryShare = 0.1;
+    /**
+     * minimum fraction of static bodies for an object layer to be mapped to
+     * the static broadphase layer
+     */
+    final private static double staticShare = 0.9;
+    // *************************************************************************
+    // fields
+
+    /**
+     * true for each pair of object layers that can collide, indexed by the
+     * lower layer then the higher layer
+     */
+    final private boolean[][] collides;
+    /**
+     * number of queries that targeted only the indexed object layer
+     */
+    final private long[] exclusiveQueries;
+    /**
+     * number of moving (dynamic or kinematic) bodies in each object layer
+     */
+    final private long[] numMoving;
+    /**
+     * number of static bodies in each object layer
+     */
+    final private long[] numStatic;
+    /**
+     * total number of queries counted
+     */
+    private long numQueries;
+    // *************************************************************************
+    // constructors
+
+    /**
+     * Instantiate a planner for the specified number of object layers.
+     *
+     * @param numObjLayers the number of object layers (&gt;0)
+     */
+    public BroadPhaseLayerPlanner(int numObjLayers) {
+        if (numObjLayers <= 0) {
+            throw new IllegalArgumentException(
+                    "numObjLayers = " + numObjLayers);
+        }
+
+        this.collides = new boolean[numObjLayers][numObjLayers];
+        this.exclusiveQueries = new long[numObjLayers];
+        this.numMoving = new long[numObjLayers];
+        this.numStatic = new long[numObjLayers];
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Count the specified number of bodies in the specified object layer.
+     *
+     * @param objLayer the index of the object layer (&ge;0)
+     * @param motionType the bodies' motion type (not null)
+     * @param count the number of bodies (&ge;0)
+     */
+    public synchronized void countBodies(
+            int objLayer, EMotionType motionType, long count) {
+        if (motionType == EMotionType.Static) {
+            numStatic[objLayer] += count;
+        } else {
+            numMoving[objLayer] += count;
+        }
+    }
+
+    /**
+     * Count the specified body.
+     *
+     * @param body the body to count (not null, unaffected)
+     */
+    public void countBody(ConstBody body) {
+        countBodies(body.getObjectLayer(), body.getMotionType(), 1);
+    }
+
+    /**
+     * Count a query that targets the specified object layers.
+     *
+     * @param objLayers the indices of the targeted object layers (not null,
+     * not empty, unaffected)
+     */
+    public synchronized void countQuery(int... objLayers) {
+        ++numQueries;
+        if (objLayers.length == 1) {
+            ++exclusiveQueries[objLayers[0]];
+        }
+    }
+
+    /**
+     * Create an object-layer pair filter that enables the collisions
+     * specified using {@link #enableCollision(int, int)}.
+     *
+     * @return a new filter
+     */
+    public synchronized ObjectLayerPairFilterTable createPairFilter() {
+        int numObjLayers = numStatic.length;
+        ObjectLayerPairFilterTable result
+                = new ObjectLayerPairFilterTable(numObjLayers);
+        for (int i = 0; i < numObjLayers; ++i) {
+            for (int j = i; j < numObjLayers; ++j) {
+                if (collides[i][j]) {
+                    result.enableCollision(i, j);
+                } else {
+                    result.disableCollision(i, j);
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Enable collisions between the specified object layers.
+     *
+     * @param objLayer1 the index of the first object layer (&ge;0)
+     * @param objLayer2 the index of the 2nd object layer (&ge;0)
+     */
+    public synchronized void enableCollision(int objLayer1, int objLayer2) {
+        int low = Math.min(objLayer1, objLayer2);
+        int high = Math.max(objLayer1, objLayer2);
+        collides[low][high] = true;
+    }
+
+    /**
+     * Propose a mapping based on the counts so far.
+     *
+     * @param maxBpLayers the maximum number of broadphase layers (&gt;0)
+     * @return a new plan
+     */
+    public synchronized Plan propose(int maxBpLayers) {
+        if (maxBpLayers <= 0) {
+            throw new IllegalArgumentException(
+                    "maxBpLayers = " + maxBpLayers);
+        }
+
+        int numObjLayers = numStatic.length;
+        List<Integer> movingGroup = new ArrayList<>(numObjLayers);
+        List<Integer> staticGroup = new ArrayList<>(numObjLayers);
+        for (int layer = 0; layer < numObjLayers; ++layer) {
+            long total = numStatic[layer] + numMoving[layer];
+            if (total > 0L && numStatic[layer] >= staticShare * total) {
+                staticGroup.add(layer);
+            } else {
+                movingGroup.add(layer);
+            }
+        }
+
+        // Rank isolation candidates by the number of exclusive queries:
+        List<Integer> candidates = new ArrayList<>(numObjLayers);
+        for (int layer = 0; layer < numObjLayers; ++layer) {
+            if (numQueries > 0L && exclusiveQueries[layer]
+                    >= isolateQueryShare * numQueries) {
+                candidates.add(layer);
+            }
+        }
+        candidates.sort((a, b) -> Long.compare(
+                exclusiveQueries[b], exclusiveQueries[a]));
+
+        int numGroups = (staticGroup.isEmpty() ? 0 : 1)
+                + (movingGroup.isEmpty() ? 0 : 1);
+        List<Integer> isolated = new ArrayList<>(numObjLayers);
+        for (int layer : candidates) {
+            List<Integer> group = staticGroup.contains(layer)
+                    ? staticGroup : movingGroup;
+            if (numGroups + isolated.size() >= maxBpLayers) {
+                break;
+            } else if (group.size() > 1) {
+                group.remove((Integer) layer);
+                isolated.add(layer);
+            }
+        }
+
+        // Assign broadphase layers: moving group, isolated layers, static:
+        int[] bpLayerOf = new int[numObjLayers];
+        List<String> names = new ArrayList<>(maxBpLayers);
+        if (!movingGroup.isEmpty()) {
+            assign(movingGroup, names.size(), bpLayerOf);
+            names.add("moving" + movingGroup);
+        }
+        for (int layer : isolated) {
+            bpLayerOf[layer] = names.size();
+            names.add("layer" + layer);
+        }
+        if (!staticGroup.isEmpty()) {
+            assign(staticGroup, names.size(), bpLayerOf);
+            names.add("static" + staticGroup);
+        }
+
+        // Merge the last layers if the limit is smaller than the groups:
+        while (names.size() > maxBpLayers) {
+            int last = names.size() - 1;
+            for (int layer = 0; layer < numObjLayers; ++layer) {
+                if (bpLayerOf[layer] == last) {
+                    bpLayerOf[layer] = last - 1;
+                }
+            }
+            String merged = names.remove(last);
+            names.set(last - 1, names.get(last - 1) + "+" + merged);
+        }
+
+        Plan result = new Plan(bpLayerOf, names);
+        return result;
+    }
+    // *************************************************************************
+    // Object methods
+
+    /**
+     * Return a textual summary of the counts so far.
+     *
+     * @return a descriptive string of text (not null, not empty)
+     */
+    @Override
+    public synchronized String toString() {
+        StringBuilder result = new StringBuilder(128);
+        result.append("queries=").append(numQueries);
+        for (int layer = 0; layer < numStatic.length; ++layer) {
+            result.append(String.format(" [%d: static=%d moving=%d"
+                    + " exclusiveQueries=%d]", layer, numStatic[layer],
+                    numMoving[layer], exclusiveQueries[layer]));
+        }
+
+        return result.toString();
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Map the specified object layers to the specified broadphase layer.
+     *
+     * @param objLayers the indices of the object layers (not null,
+     * unaffected)
+     * @param bpLayer the index of the broadphase layer (&ge;0)
+     * @param storeResult the mapping to modify (not null)
+     */
+    private static void assign(
+            List<Integer> objLayers, int bpLayer, int[] storeResult) {
+        for (int layer : objLayers) {
+            storeResult[layer] = bpLayer;
+        }
+    }
+    // *************************************************************************
+    // nested classes
+
+    /**
+     * A proposed mapping from object layers to broadphase layers.
+     */
+    final public static class Plan {
+        /**
+         * index of the broadphase layer for each object layer
+         */
+        final private int[] bpLayerOf;
+        /**
+         * descriptive name of each broadphase layer
+         */
+        final private List<String> names;
+
+        /**
+         * Instantiate a plan with the specified mapping.
+         *
+         * @param bpLayerOf the broadphase layer for each object layer (not
+         * null, alias created)
+         * @param names the name of each broadphase layer (not null, alias
+         * created)
+         */
+        Plan(int[] bpLayerOf, List<String> names) {
+            this.bpLayerOf = bpLayerOf;
+            this.names = names;
+        }
+
+        /**
+         * Return the broadphase layer for the specified object layer.
+         *
+         * @param objLayer the index of the object layer (&ge;0)
+         * @return the index of the broadphase layer (&ge;0)
+         */
+        public int bpLayerOf(int objLayer) {
+            return bpLayerOf[objLayer];
+        }
+
+        /**
+         * Return the number of broadphase layers in the plan.
+         *
+         * @return the count (&gt;0)
+         */
+        public int countBpLayers() {
+            return names.size();
+        }
+
+        /**
+         * Create a broadphase-layer interface that implements the plan.
+         *
+         * @return a new table
+         */
+        public BroadPhaseLayerInterfaceTable createLayerInterface() {
+            int numObjLayers = bpLayerOf.length;
+            BroadPhaseLayerInterfaceTable result
+                    = new BroadPhaseLayerInterfaceTable(
+                            numObjLayers, names.size());
+            for (int layer = 0; layer < numObjLayers; ++layer) {
+                result.mapObjectToBroadPhaseLayer(layer, bpLayerOf[layer]);
+            }
+
+            return result;
+        }
+
+        /**
+         * Create an object-versus-broadphase filter that's consistent with
+         * the plan and the specified pair filter.
+         *
+         * @param layerMap the interface created by
+         * {@link #createLayerInterface()} (not null)
+         * @param pairFilter the object-layer pair filter (not null)
+         * @return a new table
+         */
+        public ObjectVsBroadPhaseLayerFilterTable createObjectVsBpFilter(
+                BroadPhaseLayerInterfaceTable layerMap,
+                ObjectLayerPairFilterTable pairFilter) {
+            ObjectVsBroadPhaseLayerFilterTable result
+                    = new ObjectVsBroadPhaseLayerFilterTable(layerMap,
+                            names.size(), pairFilter, bpLayerOf.length);
+            return result;
+        }
+
+        /**
+         * Create a broadphase-layer filter for queries that target only the
+         * specified object layer, so other broadphase trees are skipped.
+         *
+         * @param objLayer the index of the object layer (&ge;0)
+         * @return a new filter
+         */
+        public BroadPhaseLayerFilter createQueryFilter(int objLayer) {
+            BroadPhaseLayerFilter result
+                    = new SpecifiedBroadPhaseLayerFilter(bpLayerOf[objLayer]);
+            return result;
+        }
+
+        /**
+         * Describe the plan, one broadphase layer per line.
+         *
+         * @return a descriptive string of text (not null, not empty)
+         */
+        @Override
+        public String toString() {
+            StringBuilder result = new StringBuilder(128);
+            for (int bpLayer = 0; bpLayer < names.size(); ++bpLayer) {
+                if (bpLayer > 0) {
+                    result.append(System.lineSeparator());
+                }
+                result.append("bpLayer ").append(bpLayer).append(": ")
+                        .append(names.get(bpLayer));
+            }
+
+            return result.toString();
+        }
+    }
+}
@@ -0,0 +1,449 @@
+/*
+ Copyright (c) 2026 Stephen Gold and Yanis Boudiaf
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+    list of conditions and the following disclaimer.
+
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+    this list of conditions and the following disclaimer in the documentation
+    and/or other materials provided with the distribution.
+
+ 3. Neither the name of the copyright holder nor the names of its
+    contributors may be used to endorse or promote products derived from
+    this software without specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.github.stephengold.sportjolt.javaapp.util;
+
+import com.github.stephengold.joltjni.AaBox;
+import com.github.stephengold.joltjni.AllHitCollideShapeBodyCollector;
+import com.github.stephengold.joltjni.BroadPhaseLayerFilter;
+import com.github.stephengold.joltjni.ObjectLayerFilter;
+import com.github.stephengold.joltjni.PhysicsSystem;
+import com.github.stephengold.joltjni.Vec3;
+import com.github.stephengold.joltjni.readonly.ConstAaBox;
+import com.github.stephengold.joltjni.readonly.ConstBroadPhaseQuery;
+import com.github.stephengold.joltjni.readonly.Vec3Arg;
+import com.github.stephengold.sportjolt.physics.PhysicsTickListener;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A tick listener that decides when to invoke
+ * {@code PhysicsSystem.optimizeBroadPhase()} in a world whose bodies are
+ * added and removed over time.
+ * <p>
+ * Bodies added after the last optimization are inserted into the broadphase
+ * trees incrementally, so query cost creeps up as content streams in and
+ * out. The maintainer counts body additions and removals reported by the
+ * application and periodically probes query latency with a fixed set of
+ * axis-aligned box queries. An optimization is due when the change count
+ * reaches a threshold, or when the probed latency exceeds the latency after
+ * the last optimization by a factor.
+ * <p>
+ * Probes and optimizations run after a step, never during one. In manual
+ * mode (the default), the maintainer only flags a due optimization, so the
+ * application can invoke {@link #maintain(PhysicsSystem)} at a convenient
+ * time, such as during a loading screen. In automatic mode, a due
+ * optimization runs right away, on the thread that steps the system, so that
+ * tick stalls for the full duration of {@code optimizeBroadPhase()} (which
+ * can be several milliseconds in a large world).
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+final public class BroadPhaseMaintainer implements PhysicsTickListener {
+    // *************************************************************************
+    // constants
+
+    /**
+     * number of box queries per probe
+     */
+    final private static int numProbes = 64;
+    // *************************************************************************
+    // fields
+
+    /**
+     * collector for probe queries
+     */
+    final private AllHitCollideShapeBodyCollector collector
+            = new AllHitCollideShapeBodyCollector();
+    /**
+     * count of bodies added or removed since the last optimization
+     */
+    final private AtomicInteger pendingChanges = new AtomicInteger();
+    /**
+     * broadphase-layer filter for probes that has no effect
+     */
+    final private BroadPhaseLayerFilter bpFilter = new BroadPhaseLayerFilter();
+    /**
+     * true to optimize as soon as an optimization is due, false to wait for
+     * {@link #maintain(PhysicsSystem)}
+     */
+    private boolean automatic;
+    /**
+     * true if an optimization is due
+     */
+    private volatile boolean due;
+    /**
+     * box queries for probing (not null)
+     */
+    final private ConstAaBox[] probes;
+    /**
+     * maximum ratio of probed latency to baseline latency before an
+     * optimization is due
+     */
+    private double latencyFactor = 1.5;
+    /**
+     * mean probe latency right after the last optimization (or at the first
+     * probe, if not optimized yet), or 0 if not probed yet (in nanoseconds)
+     */
+    private double latencyAfter;
+    /**
+     * mean probe latency right before the last optimization, or 0 if not
+     * optimized yet (in nanoseconds)
+     */
+    private double latencyBefore;
+    /**
+     * mean latency of the most recent probe, or 0 if not probed yet (in
+     * nanoseconds)
+     */
+    private double latencyLast;
+    /**
+     * number of changes that makes an optimization due
+     */
+    private int changeThreshold = 1_000;
+    /**
+     * number of optimizations performed
+     */
+    private int numOptimizations;
+    /**
+     * number of ticks between probes
+     */
+    private int probeInterval = 60;
+    /**
+     * number of ticks since the last probe
+     */
+    private int ticksSinceProbe;
+    /**
+     * duration of the last optimization (in nanoseconds)
+     */
+    private long optimizeNanos;
+    /**
+     * object-layer filter for probes that has no effect
+     */
+    final private ObjectLayerFilter objFilter = new ObjectLayerFilter();
+    // *************************************************************************
+    // constructors
+
+    /**
+     * Instantiate a maintainer that probes the specified region.
+     *
+     * @param region the region where queries usually occur (not null,
+     * unaffected)
+     * @param probeHalfExtent the half extent of each probe box (in meters,
+     * &gt;0)
+     */
+    public BroadPhaseMaintainer(ConstAaBox region, float probeHalfExtent) {
+        Vec3Arg min = region.getMin();
+        Vec3Arg max = region.getMax();
+        Random random = new Random(1L);
+
+        this.probes = new ConstAaBox[numProbes];
+        for (int i = 0; i < numProbes; ++i) {
+            Vec3 center = new Vec3(
+                    lerp(random.nextFloat(), min.getX(), max.getX()),
+                    lerp(random.nextFloat(), min.getY(), max.getY()),
+                    lerp(random.nextFloat(), min.getZ(), max.getZ()));
+            probes[i] = new AaBox(center, probeHalfExtent);
+        }
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Report that bodies were added to the system. Thread-safe.
+     *
+     * @param count the number of bodies added (&ge;0)
+     */
+    public void bodiesAdded(int count) {
+        countChanges(count);
+    }
+
+    /**
+     * Report that bodies were removed from the system. Thread-safe.
+     *
+     * @param count the number of bodies removed (&ge;0)
+     */
+    public void bodiesRemoved(int count) {
+        countChanges(count);
+    }
+
+    /**
+     * Return the number of optimizations performed.
+     *
+     * @return the count (&ge;0)
+     */
+    public int countOptimizations() {
+        return numOptimizations;
+    }
+
+    /**
+     * Return the number of additions and removals since the last
+     * optimization.
+     *
+     * @return the count (&ge;0)
+     */
+    public int countPendingChanges() {
+        int result = pendingChanges.get();
+        return result;
+    }
+
+    /**
+     * Test whether an optimization is due.
+     *
+     * @return true if due, otherwise false
+     */
+    public boolean isDue() {
+        return due;
+    }
+
+    /**
+     * Return the mean probe latency right after the last optimization (or at
+     * the first probe, if not optimized yet).
+     *
+     * @return the latency (in nanoseconds, &ge;0, 0 if not probed yet)
+     */
+    public double latencyAfter() {
+        return latencyAfter;
+    }
+
+    /**
+     * Return the mean probe latency right before the last optimization.
+     *
+     * @return the latency (in nanoseconds, &ge;0, 0 if not optimized yet)
+     */
+    public double latencyBefore() {
+        return latencyBefore;
+    }
+
+    /**
+     * Return the mean latency of the most recent probe.
+     *
+     * @return the latency (in nanoseconds, &ge;0, 0 if not probed yet)
+     */
+    public double latencyLast() {
+        return latencyLast;
+    }
+
+    /**
+     * Optimize the broadphase of the specified system if an optimization is
+     * due. Must not be invoked while the system is being stepped.
+     *
+     * @param system the system to maintain (not null)
+     * @return true if optimized, otherwise false
+     */
+    public boolean maintain(PhysicsSystem system) {
+        boolean result = due;
+        if (result) {
+            optimize(system);
+        }
+
+        return result;
+    }
+
+    /**
+     * Probe the specified system, optimize its broadphase, and probe again,
+     * regardless of whether an optimization is due. Must not be invoked
+     * while the system is being stepped.
+     *
+     * @param system the system to optimize (not null)
+     */
+    public void optimize(PhysicsSystem system) {
+        this.latencyBefore = probe(system);
+
+        long startNanos = System.nanoTime();
+        pendingChanges.set(0);
+        system.optimizeBroadPhase();
+        this.optimizeNanos = System.nanoTime() - startNanos;
+
+        this.latencyAfter = probe(system);
+        this.due = false;
+        ++numOptimizations;
+    }
+
+    /**
+     * Return the duration of the last optimization.
+     *
+     * @return the duration (in nanoseconds, &ge;0, 0 if not optimized yet)
+     */
+    public long optimizeNanos() {
+        return optimizeNanos;
+    }
+
+    /**
+     * Alter whether due optimizations run automatically after each step.
+     * Automatic optimizations stall the stepping thread.
+     *
+     * @param setting true to optimize automatically, false to wait for
+     * {@link #maintain(PhysicsSystem)} (default=false)
+     */
+    public void setAutomatic(boolean setting) {
+        this.automatic = setting;
+    }
+
+    /**
+     * Alter the number of changes that makes an optimization due.
+     *
+     * @param count the desired threshold (&gt;0, default=1000)
+     * @throws IllegalArgumentException if {@code count} isn't positive
+     */
+    public void setChangeThreshold(int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("count = " + count);
+        }
+        this.changeThreshold = count;
+    }
+
+    /**
+     * Alter the latency ratio that makes an optimization due.
+     *
+     * @param factor the desired ratio of probed latency to the latency after
+     * the last optimization (&gt;1, default=1.5)
+     * @throws IllegalArgumentException if {@code factor} isn't greater than 1
+     */
+    public void setLatencyFactor(double factor) {
+        if (!(factor > 1.)) { // also rejects NaN
+            throw new IllegalArgumentException("factor = " + factor);
+        }
+        this.latencyFactor = factor;
+    }
+
+    /**
+     * Alter the number of ticks between probes.
+     *
+     * @param numTicks the desired interval (&gt;0, default=60)
+     * @throws IllegalArgumentException if {@code numTicks} isn't positive
+     */
+    public void setProbeInterval(int numTicks) {
+        if (numTicks <= 0) {
+            throw new IllegalArgumentException("numTicks = " + numTicks);
+        }
+        this.probeInterval = numTicks;
+    }
+
+    /**
+     * Return a textual summary of the metrics.
+     *
+     * @return a descriptive string of text (not null, not empty)
+     */
+    public String summary() {
+        String result = String.format("optimizations=%d pending=%d"
+                + " last=%.0f ns before=%.0f ns after=%.0f ns"
+                + " optimize=%.2f ms", numOptimizations,
+                pendingChanges.get(), latencyLast, latencyBefore,
+                latencyAfter, 1e-6 * optimizeNanos);
+        return result;
+    }
+    // *************************************************************************
+    // PhysicsTickListener methods
+
+    /**
+     * Callback invoked (by Sport-Jolt, not by Jolt Physics) after the system
+     * has been stepped. Probe if the interval has elapsed, then optimize if
+     * an optimization is due and the maintainer is automatic.
+     *
+     * @param system the system that was just stepped (not null)
+     * @param timeStep the duration of the simulation step (in seconds, &ge;0)
+     */
+    @Override
+    public void physicsTick(PhysicsSystem system, float timeStep) {
+        ++ticksSinceProbe;
+        if (ticksSinceProbe >= probeInterval) {
+            double latency = probe(system);
+            if (latencyAfter == 0.) {
+                this.latencyAfter = latency; // first probe sets the baseline
+            } else if (latency > latencyFactor * latencyAfter
+                    && pendingChanges.get() > 0) {
+                this.due = true;
+            }
+        }
+
+        if (due && automatic) {
+            optimize(system);
+        }
+    }
+
+    /**
+     * Callback invoked (by Sport-Jolt, not by Jolt Physics) before the system
+     * is stepped.
+     *
+     * @param system the system that's about to be stepped (not null)
+     * @param timeStep the duration of the simulation step (in seconds, &ge;0)
+     */
+    @Override
+    public void prePhysicsTick(PhysicsSystem system, float timeStep) {
+        // do nothing
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Add the specified number of changes and flag an optimization if the
+     * threshold is reached.
+     *
+     * @param count the number of changes (&ge;0)
+     */
+    private void countChanges(int count) {
+        int total = pendingChanges.addAndGet(count);
+        if (total >= changeThreshold) {
+            this.due = true;
+        }
+    }
+
+    /**
+     * Interpolate linearly between the specified values.
+     *
+     * @param t the weight of {@code v1} (&ge;0, &le;1)
+     * @param v0 the value for t=0
+     * @param v1 the value for t=1
+     * @return the interpolated value
+     */
+    private static float lerp(float t, float v0, float v1) {
+        float result = v0 + t * (v1 - v0);
+        return result;
+    }
+
+    /**
+     * Time the probe queries against the specified system.
+     *
+     * @param system the system to probe (not null)
+     * @return the mean latency per query (in nanoseconds)
+     */
+    private double probe(PhysicsSystem system) {
+        ConstBroadPhaseQuery query = system.getBroadPhaseQuery();
+        long startNanos = System.nanoTime();
+        for (ConstAaBox box : probes) {
+            collector.reset();
+            query.collideAaBox(box, collector, bpFilter, objFilter);
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+
+        this.latencyLast = elapsedNanos / (double) numProbes;
+        this.ticksSinceProbe = 0;
+
+        return latencyLast;
+    }
+}
@@ -0,0 +1,231 @@
+/*
+ Copyright (c) 2026 Stephen Gold and Yanis Boudiaf
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+    list of conditions and the following disclaimer.
+
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+    this list of conditions and the following disclaimer in the documentation
+    and/or other materials provided with the distribution.
+
+ 3. Neither the name of the copyright holder nor the names of its
+    contributors may be used to endorse or promote products derived from
+    this software without specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.github.stephengold.sportjolt.javaapp.util;
+
+import com.github.stephengold.joltjni.Body;
+import com.github.stephengold.joltjni.BodyInterface;
+import com.github.stephengold.joltjni.BodyLockMultiWrite;
+import com.github.stephengold.joltjni.PhysicsSystem;
+import com.github.stephengold.joltjni.Vec3;
+import com.github.stephengold.joltjni.readonly.ConstBodyLockInterface;
+import java.nio.FloatBuffer;
+import java.util.Arrays;
+
+/**
+ * Utility methods to apply forces, impulses, and velocities to many bodies at
+ * once.
+ * <p>
+ * Each method locks all the specified bodies with a single
+ * {@code BodyLockMultiWrite}, reads a packed buffer of 3 floats per body, and
+ * wakes up any sleeping bodies after the locks are released. This avoids the
+ * per-body lock acquisition that {@code BodyInterface} performs on each call.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+final public class BulkBodyInterface {
+    // *************************************************************************
+    // constants
+
+    /**
+     * operation code to add forces
+     */
+    final private static int addForce = 0;
+    /**
+     * operation code to add impulses
+     */
+    final private static int addImpulse = 1;
+    /**
+     * operation code to set angular velocities
+     */
+    final private static int setAngularVelocity = 2;
+    /**
+     * operation code to set linear velocities
+     */
+    final private static int setLinearVelocity = 3;
+    // *************************************************************************
+    // constructors
+
+    /**
+     * A private constructor to inhibit instantiation of this class.
+     */
+    private BulkBodyInterface() {
+        // do nothing
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Add a force to each of the specified dynamic bodies. Non-dynamic bodies
+     * are ignored.
+     *
+     * @param system the system containing the bodies (not null)
+     * @param bodyIds the IDs of the bodies (not null, unaffected)
+     * @param numBodies the number of IDs to use (&ge;0, &le;bodyIds.length)
+     * @param forces the forces to apply (in system coordinates, 3 floats per
+     * body, not null, unaffected)
+     */
+    public static void addForces(PhysicsSystem system, int[] bodyIds,
+            int numBodies, FloatBuffer forces) {
+        apply(system, bodyIds, numBodies, forces, addForce);
+    }
+
+    /**
+     * Apply an impulse to the center of mass of each of the specified dynamic
+     * bodies. Non-dynamic bodies are ignored.
+     *
+     * @param system the system containing the bodies (not null)
+     * @param bodyIds the IDs of the bodies (not null, unaffected)
+     * @param numBodies the number of IDs to use (&ge;0, &le;bodyIds.length)
+     * @param impulses the impulses to apply (in system coordinates, 3 floats
+     * per body, not null, unaffected)
+     */
+    public static void addImpulses(PhysicsSystem system, int[] bodyIds,
+            int numBodies, FloatBuffer impulses) {
+        apply(system, bodyIds, numBodies, impulses, addImpulse);
+    }
+
+    /**
+     * Alter the angular velocity of each of the specified moving bodies.
+     * Static bodies are ignored.
+     *
+     * @param system the system containing the bodies (not null)
+     * @param bodyIds the IDs of the bodies (not null, unaffected)
+     * @param numBodies the number of IDs to use (&ge;0, &le;bodyIds.length)
+     * @param velocities the desired angular velocities (in system coordinates,
+     * 3 floats per body, not null, unaffected)
+     */
+    public static void setAngularVelocities(PhysicsSystem system,
+            int[] bodyIds, int numBodies, FloatBuffer velocities) {
+        apply(system, bodyIds, numBodies, velocities, setAngularVelocity);
+    }
+
+    /**
+     * Alter the linear velocity of each of the specified moving bodies.
+     * Static bodies are ignored.
+     *
+     * @param system the system containing the bodies (not null)
+     * @param bodyIds the IDs of the bodies (not null, unaffected)
+     * @param numBodies the number of IDs to use (&ge;0, &le;bodyIds.length)
+     * @param velocities the desired linear velocities (in system coordinates,
+     * 3 floats per body, not null, unaffected)
+     */
+    public static void setLinearVelocities(PhysicsSystem system, int[] bodyIds,
+            int numBodies, FloatBuffer velocities) {
+        apply(system, bodyIds, numBodies, velocities, setLinearVelocity);
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Perform the specified operation on each of the specified bodies, using
+     * a single multi-body lock.
+     *
+     * @param system the system containing the bodies (not null)
+     * @param bodyIds the IDs of the bodies (not null, unaffected)
+     * @param numBodies the number of IDs to use (&ge;0, &le;bodyIds.length)
+     * @param data the input vectors (3 floats per body, not null, unaffected)
+     * @param operation which operation to perform (one of the operation codes
+     * defined above)
+     */
+    private static void apply(PhysicsSystem system, int[] bodyIds,
+            int numBodies, FloatBuffer data, int operation) {
+        assert numBodies >= 0 && numBodies <= bodyIds.length : numBodies;
+        assert data.capacity() >= 3 * numBodies : data.capacity();
+        if (numBodies == 0) {
+            return;
+        }
+
+        int[] lockIds = (numBodies == bodyIds.length)
+                ? bodyIds : Arrays.copyOf(bodyIds, numBodies);
+        int[] wakeIds = new int[numBodies];
+        int numToWake = 0;
+        Vec3 tmpVector = new Vec3();
+
+        ConstBodyLockInterface bli = system.getBodyLockInterface();
+        try (BodyLockMultiWrite lock = new BodyLockMultiWrite(bli, lockIds)) {
+            for (int i = 0; i < numBodies; ++i) {
+                Body body = lock.getBody(i);
+                if (body == null) { // invalid or removed body ID
+                    continue;
+                }
+
+                int offset = 3 * i;
+                tmpVector.set(data.get(offset), data.get(offset + 1),
+                        data.get(offset + 2));
+                boolean applied = true;
+                switch (operation) {
+                    case addForce:
+                        applied = body.isDynamic();
+                        if (applied) {
+                            body.addForce(tmpVector);
+                        }
+                        break;
+
+                    case addImpulse:
+                        applied = body.isDynamic();
+                        if (applied) {
+                            body.addImpulse(tmpVector);
+                        }
+                        break;
+
+                    case setAngularVelocity:
+                        applied = !body.isStatic();
+                        if (applied) {
+                            body.setAngularVelocityClamped(tmpVector);
+                        }
+                        break;
+
+                    case setLinearVelocity:
+                        applied = !body.isStatic();
+                        if (applied) {
+                            body.setLinearVelocityClamped(tmpVector);
+                        }
+                        break;
+
+                    default:
+                        throw new IllegalArgumentException(
+                                "operation = " + operation);
+                }
+
+                if (applied && !body.isActive() && !tmpVector.isNearZero()) {
+                    wakeIds[numToWake] = lockIds[i];
+                    ++numToWake;
+                }
+            }
+        }
+        /*
+         * Activation acquires body locks of its own,
+         * so it must wait until the multi-body lock has been released:
+         */
+        BodyInterface bi = system.getBodyInterface();
+        for (int i = 0; i < numToWake; ++i) {
+            bi.activateBody(wakeIds[i]);
+        }
+    }
+}
@@ -0,0 +1,362 @@
+/*
+ Copyright (c) 2026 Stephen Gold and Yanis Boudiaf
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+    list of conditions and the following disclaimer.
+
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+    this list of conditions and the following disclaimer in the documentation
+    and/or other materials provided with the distribution.
+
+ 3. Neither the name of the copyright holder nor the names of its
+    contributors may be used to endorse or promote products derived from
+    this software without specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.github.stephengold.sportjolt.javaapp.util;
+
+import com.github.stephengold.joltjni.IdToMaterialMap;
+import com.github.stephengold.joltjni.IdToShapeMap;
+import com.github.stephengold.joltjni.Jolt;
+import com.github.stephengold.joltjni.MaterialToIdMap;
+import com.github.stephengold.joltjni.Shape;
+import com.github.stephengold.joltjni.ShapeRefC;
+import com.github.stephengold.joltjni.ShapeResult;
+import com.github.stephengold.joltjni.ShapeToIdMap;
+import com.github.stephengold.joltjni.StaticCompoundShapeSettings;
+import com.github.stephengold.joltjni.StreamInWrapper;
+import com.github.stephengold.joltjni.StreamOutWrapper;
+import com.github.stephengold.joltjni.Vec3;
+import com.github.stephengold.joltjni.std.IfStream;
+import com.github.stephengold.joltjni.std.OfStream;
+import com.github.stephengold.joltjni.std.Std;
+import com.github.stephengold.joltjni.vhacd.ConvexHull;
+import com.github.stephengold.joltjni.vhacd.Decomposer;
+import com.github.stephengold.joltjni.vhacd.Parameters;
+import com.github.stephengold.sportjolt.IndexBuffer;
+import com.github.stephengold.sportjolt.Mesh;
+import com.github.stephengold.sportjolt.VertexBuffer;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Decompose triangle meshes into compounds of convex hulls using V-HACD, on
+ * worker threads, and cache the cooked shapes on disk.
+ * <p>
+ * Each result is saved as a Jolt Physics snapshot (including child shapes)
+ * in a file named after a SHA-256 hash of the mesh data, the values of the
+ * decomposition parameters, the library version, and the numeric precision.
+ * Snapshots aren't portable between library versions or flavors, so those
+ * are part of the key. A later request for the same mesh and parameters
+ * restores the snapshot instead of re-running V-HACD.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+final public class DecompositionCache {
+    // *************************************************************************
+    // constants
+
+    /**
+     * filename suffix for cached snapshots
+     */
+    final private static String suffix = ".shape";
+    // *************************************************************************
+    // fields
+
+    /**
+     * executor that runs the decompositions
+     */
+    final private ExecutorService executor;
+    /**
+     * directory containing the cached snapshots
+     */
+    final private Path cacheDir;
+    // *************************************************************************
+    // constructors
+
+    /**
+     * Instantiate a cache in the specified directory that uses the common
+     * fork-join pool.
+     *
+     * @param cacheDir the directory for snapshots (not null, created if
+     * missing)
+     */
+    public DecompositionCache(Path cacheDir) {
+        this(cacheDir, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Instantiate a cache in the specified directory that uses the specified
+     * executor.
+     *
+     * @param cacheDir the directory for snapshots (not null, created if
+     * missing)
+     * @param executor the executor to run decompositions (not null, alias
+     * created)
+     */
+    public DecompositionCache(Path cacheDir, ExecutorService executor) {
+        this.cacheDir = cacheDir;
+        this.executor = executor;
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Start decomposing the specified mesh, or restoring it from the cache.
+     *
+     * @param locations the vertex locations (3 floats per vertex, not null,
+     * unaffected)
+     * @param indices the vertex indices (3 per triangle, not null, unaffected)
+     * @param parameters the V-HACD tuning parameters (not null, unaffected)
+     * @return a new future for the compound shape
+     */
+    public CompletableFuture<ShapeRefC> decompose(
+            float[] locations, int[] indices, Parameters parameters) {
+        CompletableFuture<ShapeRefC> result = CompletableFuture.supplyAsync(
+                () -> decomposeNow(locations, indices, parameters), executor);
+        return result;
+    }
+
+    /**
+     * Start decomposing the mesh in the specified buffers, or restoring it
+     * from the cache. Each buffer is read from index 0 up to its limit, and
+     * the data are copied before this method returns.
+     *
+     * @param locations the vertex locations (3 floats per vertex, not null,
+     * unaffected)
+     * @param indices the vertex indices (3 per triangle, not null,
+     * unaffected)
+     * @param parameters the V-HACD tuning parameters (not null, unaffected)
+     * @return a new future for the compound shape
+     */
+    public CompletableFuture<ShapeRefC> decompose(FloatBuffer locations,
+            IntBuffer indices, Parameters parameters) {
+        float[] locationArray = new float[locations.limit()];
+        locations.duplicate().rewind().get(locationArray);
+        int[] indexArray = new int[indices.limit()];
+        indices.duplicate().rewind().get(indexArray);
+
+        CompletableFuture<ShapeRefC> result
+                = decompose(locationArray, indexArray, parameters);
+        return result;
+    }
+
+    /**
+     * Start decomposing the specified Sport-Jolt mesh, or restoring it from
+     * the cache. The mesh data are copied before this method returns.
+     *
+     * @param mesh the mesh to decompose (not null, TriangleList topology,
+     * unaffected)
+     * @param parameters the V-HACD tuning parameters (not null, unaffected)
+     * @return a new future for the compound shape
+     */
+    public CompletableFuture<ShapeRefC> decompose(
+            Mesh mesh, Parameters parameters) {
+        VertexBuffer positions = mesh.getPositions();
+        int numVertices = positions.capacity() / 3;
+        float[] locationArray = new float[3 * numVertices];
+        Vec3 tmpLocation = new Vec3();
+        for (int i = 0; i < numVertices; ++i) {
+            positions.get(3 * i, tmpLocation);
+            locationArray[3 * i] = tmpLocation.getX();
+            locationArray[3 * i + 1] = tmpLocation.getY();
+            locationArray[3 * i + 2] = tmpLocation.getZ();
+        }
+
+        IndexBuffer indices = mesh.getIndexBuffer();
+        int[] indexArray;
+        if (indices == null) { // non-indexed mesh
+            indexArray = new int[numVertices];
+            for (int i = 0; i < numVertices; ++i) {
+                indexArray[i] = i;
+            }
+        } else {
+            indexArray = new int[indices.capacity()];
+            for (int i = 0; i < indexArray.length; ++i) {
+                indexArray[i] = indices.get(i);
+            }
+        }
+
+        CompletableFuture<ShapeRefC> result
+                = decompose(locationArray, indexArray, parameters);
+        return result;
+    }
+
+    /**
+     * Decompose the specified mesh on the current thread, or restore it from
+     * the cache.
+     *
+     * @param locations the vertex locations (3 floats per vertex, not null,
+     * unaffected)
+     * @param indices the vertex indices (3 per triangle, not null, unaffected)
+     * @param parameters the V-HACD tuning parameters (not null, unaffected)
+     * @return a new counted reference to the compound shape (not null)
+     * @throws IllegalArgumentException if the compound can't be cooked
+     */
+    public ShapeRefC decomposeNow(
+            float[] locations, int[] indices, Parameters parameters) {
+        String key = cacheKey(locations, indices, parameters);
+        Path snapshotPath = cacheDir.resolve(key + suffix);
+
+        ShapeRefC result = null;
+        if (Files.isRegularFile(snapshotPath)) {
+            result = restore(snapshotPath);
+        }
+        if (result == null) {
+            Decomposer decomposer = new Decomposer();
+            Collection<ConvexHull> hulls
+                    = decomposer.decompose(locations, indices, parameters);
+            StaticCompoundShapeSettings settings
+                    = new StaticCompoundShapeSettings();
+            settings.addHulls(hulls);
+            result = ShapeCooker.cookNow(settings);
+            save(result, snapshotPath);
+        }
+
+        return result;
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Generate the cache key for the specified mesh and parameters.
+     *
+     * @param locations the vertex locations (not null, unaffected)
+     * @param indices the vertex indices (not null, unaffected)
+     * @param parameters the V-HACD tuning parameters (not null, unaffected)
+     * @return a string of hexadecimal digits (not null, not empty)
+     */
+    private static String cacheKey(
+            float[] locations, int[] indices, Parameters parameters) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException(exception);
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(
+                4 * (2 + locations.length + indices.length));
+        buffer.putInt(locations.length);
+        for (float location : locations) {
+            buffer.putFloat(location);
+        }
+        buffer.putInt(indices.length);
+        for (int index : indices) {
+            buffer.putInt(index);
+        }
+        digest.update(buffer.array());
+
+        // Hash the value of every V-HACD parameter:
+        ByteBuffer params = ByteBuffer.allocate(64);
+        params.put((byte) (parameters.getAsyncAcd() ? 1 : 0));
+        params.putInt(parameters.getFillMode().ordinal());
+        params.put((byte) (parameters.getFindBestPlane() ? 1 : 0));
+        params.putInt(parameters.getMaxConvexHulls());
+        params.putInt(parameters.getMaxNumVerticesPerCh());
+        params.putInt(parameters.getMaxRecursionDepth());
+        params.putInt(parameters.getMinEdgeLength());
+        params.putDouble(parameters.getMinimumVolumePercentErrorAllowed());
+        params.putInt(parameters.getResolution());
+        params.put((byte) (parameters.getShrinkWrap() ? 1 : 0));
+        digest.update(params.array(), 0, params.position());
+
+        String context = Jolt.versionString() + "|"
+                + (Jolt.isDoublePrecision() ? "Dp" : "Sp");
+        digest.update(context.getBytes(StandardCharsets.UTF_8));
+
+        StringBuilder result = new StringBuilder(64);
+        for (byte b : digest.digest()) {
+            result.append(String.format("%02x", b));
+        }
+
+        return result.toString();
+    }
+
+    /**
+     * Restore a compound shape from the specified snapshot file.
+     *
+     * @param snapshotPath the location of the snapshot (not null)
+     * @return a new counted reference to the shape, or null if the snapshot
+     * couldn't be restored
+     */
+    private static ShapeRefC restore(Path snapshotPath) {
+        ShapeResult shapeResult;
+        try (IfStream fileIn = new IfStream(snapshotPath.toString(),
+                Std.ios_in | Std.ios_binary)) {
+            StreamInWrapper streamIn = new StreamInWrapper(fileIn);
+            shapeResult = Shape.sRestoreWithChildren(
+                    streamIn, new IdToShapeMap(), new IdToMaterialMap());
+        }
+        if (shapeResult.hasError()) {
+            System.err.println("Discarding a stale snapshot:  \""
+                    + snapshotPath + "\"");
+            return null;
+        }
+        ShapeRefC result = shapeResult.get();
+
+        return result;
+    }
+
+    /**
+     * Save the specified shape to a snapshot file. A temporary file is
+     * written and then atomically renamed, so concurrent workers never
+     * restore a partially written snapshot. Failures are reported but
+     * otherwise ignored.
+     *
+     * @param shape the shape to save (not null, unaffected)
+     * @param snapshotPath the destination path (not null)
+     */
+    private void save(ShapeRefC shape, Path snapshotPath) {
+        Path tmpPath = null;
+        try {
+            Files.createDirectories(cacheDir);
+            tmpPath = Files.createTempFile(cacheDir, "vhacd", ".tmp");
+            try (OfStream fileOut = new OfStream(tmpPath.toString(),
+                    Std.ios_out | Std.ios_binary)) {
+                StreamOutWrapper streamOut = new StreamOutWrapper(fileOut);
+                shape.getPtr().saveWithChildren(
+                        streamOut, new ShapeToIdMap(), new MaterialToIdMap());
+            }
+            Files.move(tmpPath, snapshotPath, StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING);
+
+        } catch (IOException exception) {
+            System.err.println("Failed to cache a decomposition:  \""
+                    + snapshotPath + "\"");
+        } finally {
+            if (tmpPath != null) {
+                try {
+                    Files.deleteIfExists(tmpPath);
+                } catch (IOException exception) {
+                    // leave the temporary file for the next cleanup
+                }
+            }
+        }
+    }
+}
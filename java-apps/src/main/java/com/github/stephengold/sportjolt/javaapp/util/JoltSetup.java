@@ -0,0 +1,101 @@
+/*
+ Copyright (c) 2026 Stephen Gold and Yanis Boudiaf
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+    list of conditions and the following disclaimer.
+
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+    this list of conditions and the following disclaimer in the documentation
+    and/or other materials provided with the distribution.
+
+ 3. Neither the name of the copyright holder nor the names of its
+    contributors may be used to endorse or promote products derived from
+    this software without specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.github.stephengold.sportjolt.javaapp.util;
+
+import com.github.stephengold.joltjni.Jolt;
+import com.github.stephengold.joltjni.JoltPhysicsObject;
+
+/**
+ * Utility methods to initialize Jolt Physics in console apps, benchmarks,
+ * and script hosts.
+ * <p>
+ * {@link #initialize()} performs the full sequence: load the native library
+ * from the {@link NativeLibraryCache}, start the cleaner, install the default
+ * allocator and callbacks, create the factory, and register the types. Apps
+ * that time the individual phases may invoke the steps separately instead.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+final public class JoltSetup {
+    // *************************************************************************
+    // constructors
+
+    /**
+     * A private constructor to inhibit instantiation of this class.
+     */
+    private JoltSetup() {
+        // do nothing
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Create the Jolt Physics factory and register all shape and constraint
+     * types. Invoke after {@link #installServices()}.
+     *
+     * @throws IllegalStateException if the factory can't be created
+     */
+    public static void createFactory() {
+        boolean success = Jolt.newFactory();
+        if (!success) {
+            throw new IllegalStateException("Failed to create a factory.");
+        }
+        Jolt.registerTypes();
+    }
+
+    /**
+     * Load the native library using the default cache directory, then
+     * initialize Jolt Physics.
+     */
+    public static void initialize() {
+        NativeLibraryCache.load();
+        start();
+    }
+
+    /**
+     * Start the cleaner and install the default allocator, assert callback,
+     * and trace callback. Invoke after the native library has been loaded.
+     */
+    public static void installServices() {
+        JoltPhysicsObject.startCleaner(); // to reclaim native memory
+        Jolt.registerDefaultAllocator(); // tell Jolt Physics to use malloc/free
+        Jolt.installDefaultAssertCallback();
+        Jolt.installDefaultTraceCallback();
+    }
+
+    /**
+     * Initialize Jolt Physics after the native library has been loaded.
+     *
+     * @throws IllegalStateException if the factory can't be created
+     */
+    public static void start() {
+        installServices();
+        createFactory();
+    }
+}
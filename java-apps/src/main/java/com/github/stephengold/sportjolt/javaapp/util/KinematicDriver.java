@@ -0,0 +1,216 @@
+/*
+ Copyright (c) 2026 Stephen Gold and Yanis Boudiaf
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+    list of conditions and the following disclaimer.
+
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+    this list of conditions and the following disclaimer in the documentation
+    and/or other materials provided with the distribution.
+
+ 3. Neither the name of the copyright holder nor the names of its
+    contributors may be used to endorse or promote products derived from
+    this software without specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.github.stephengold.sportjolt.javaapp.util;
+
+import com.github.stephengold.joltjni.Body;
+import com.github.stephengold.joltjni.BodyInterface;
+import com.github.stephengold.joltjni.BodyLockMultiWrite;
+import com.github.stephengold.joltjni.PhysicsSystem;
+import com.github.stephengold.joltjni.Quat;
+import com.github.stephengold.joltjni.RVec3;
+import com.github.stephengold.joltjni.readonly.ConstBodyLockInterface;
+import java.nio.FloatBuffer;
+import java.util.Arrays;
+
+/**
+ * Drive many kinematic bodies from a packed buffer of target poses, such as
+ * baked animation data.
+ * <p>
+ * Each target pose occupies 7 floats: the location (x, y, z) followed by the
+ * orientation quaternion (x, y, z, w), both in system coordinates. During each
+ * update, bodies whose targets changed are moved while holding a single
+ * {@code BodyLockMultiWrite}. Bodies whose targets didn't change are skipped,
+ * except for one extra move to bring them to rest.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+final public class KinematicDriver {
+    // *************************************************************************
+    // constants
+
+    /**
+     * number of floats per target pose
+     */
+    final public static int floatsPerPose = 7;
+    // *************************************************************************
+    // fields
+
+    /**
+     * true for each body that was moved during the previous update
+     */
+    final private boolean[] movedLastUpdate;
+    /**
+     * target poses from the previous update (7 floats per body)
+     */
+    final private float[] lastTargets;
+    /**
+     * IDs of the driven bodies
+     */
+    final private int[] bodyIds;
+    /**
+     * reusable array of IDs of bodies to be locked
+     */
+    final private int[] lockIds;
+    /**
+     * reusable array of indices of bodies to be moved
+     */
+    final private int[] moveIndices;
+    /**
+     * reusable array of IDs of bodies to be activated
+     */
+    final private int[] wakeIds;
+    /**
+     * reusable temporary for body orientations
+     */
+    final private Quat tmpRotation = new Quat();
+    /**
+     * reusable temporary for body locations
+     */
+    final private RVec3 tmpLocation = new RVec3();
+    // *************************************************************************
+    // constructors
+
+    /**
+     * Instantiate a driver for the specified kinematic bodies.
+     *
+     * @param bodyIds the IDs of the bodies to drive (not null, unaffected)
+     */
+    public KinematicDriver(int[] bodyIds) {
+        int numBodies = bodyIds.length;
+        this.bodyIds = bodyIds.clone();
+        this.lastTargets = new float[floatsPerPose * numBodies];
+        this.movedLastUpdate = new boolean[numBodies];
+        this.lockIds = new int[numBodies];
+        this.moveIndices = new int[numBodies];
+        this.wakeIds = new int[numBodies];
+
+        // Ensure that every body gets moved during the first update:
+        Arrays.fill(lastTargets, Float.NaN);
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Return the number of driven bodies.
+     *
+     * @return the count (&ge;0)
+     */
+    public int countBodies() {
+        int result = bodyIds.length;
+        return result;
+    }
+
+    /**
+     * Move the driven bodies toward the specified target poses. Invoke once
+     * per simulation step, before the system is stepped.
+     *
+     * @param system the system containing the bodies (not null)
+     * @param targets the target poses (7 floats per body, in the same order
+     * as the body IDs, not null, unaffected)
+     * @param timeStep the duration of the upcoming simulation step (in
+     * seconds, &gt;0)
+     * @return the number of bodies moved (&ge;0)
+     */
+    public int update(PhysicsSystem system, FloatBuffer targets,
+            float timeStep) {
+        int numBodies = bodyIds.length;
+        assert targets.capacity() >= floatsPerPose * numBodies :
+                targets.capacity();
+        assert timeStep > 0f : timeStep;
+
+        // Determine which bodies need to move:
+        int numToMove = 0;
+        for (int i = 0; i < numBodies; ++i) {
+            int offset = floatsPerPose * i;
+            boolean changed = false;
+            for (int j = offset; j < offset + floatsPerPose; ++j) {
+                float target = targets.get(j);
+                if (Float.compare(target, lastTargets[j]) != 0) {
+                    lastTargets[j] = target;
+                    changed = true;
+                }
+            }
+            /*
+             * A body that moved during the previous update still has
+             * a non-zero velocity, so it needs one more move to come to rest:
+             */
+            if (changed || movedLastUpdate[i]) {
+                moveIndices[numToMove] = i;
+                ++numToMove;
+            }
+            movedLastUpdate[i] = changed;
+        }
+        if (numToMove == 0) {
+            return 0;
+        }
+
+        for (int k = 0; k < numToMove; ++k) {
+            lockIds[k] = bodyIds[moveIndices[k]];
+        }
+        int numToWake = 0;
+        /*
+         * The multi-body lock takes its count from the length of the ID array,
+         * so a partial update needs an exact-length copy:
+         */
+        int[] ids = (numToMove == numBodies)
+                ? lockIds : Arrays.copyOf(lockIds, numToMove);
+
+        ConstBodyLockInterface bli = system.getBodyLockInterface();
+        try (BodyLockMultiWrite lock = new BodyLockMultiWrite(bli, ids)) {
+            for (int k = 0; k < numToMove; ++k) {
+                Body body = lock.getBody(k);
+                if (body == null || !body.isKinematic()) {
+                    continue;
+                }
+
+                int offset = floatsPerPose * moveIndices[k];
+                tmpLocation.setX(lastTargets[offset]);
+                tmpLocation.setY(lastTargets[offset + 1]);
+                tmpLocation.setZ(lastTargets[offset + 2]);
+                tmpRotation.set(lastTargets[offset + 3],
+                        lastTargets[offset + 4], lastTargets[offset + 5],
+                        lastTargets[offset + 6]);
+                body.moveKinematic(tmpLocation, tmpRotation, timeStep);
+
+                if (!body.isActive()) {
+                    wakeIds[numToWake] = lockIds[k];
+                    ++numToWake;
+                }
+            }
+        }
+
+        // Activate sleeping bodies after the multi-body lock is released:
+        BodyInterface bi = system.getBodyInterface();
+        for (int k = 0; k < numToWake; ++k) {
+            bi.activateBody(wakeIds[k]);
+        }
+
+        return numToMove;
+    }
+}
@@ -0,0 +1,406 @@
+/*
+ Copyright (c) 2026 Stephen Gold and Yanis Boudiaf
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+    list of conditions and the following disclaimer.
+
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+    this list of conditions and the following disclaimer in the documentation
+    and/or other materials provided with the distribution.
+
+ 3. Neither the name of the copyright holder nor the names of its
+    contributors may be used to endorse or promote products derived from
+    this software without specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.github.stephengold.sportjolt.javaapp.util;
+
+import com.github.stephengold.joltjni.MeshShapeSettings;
+import com.github.stephengold.joltjni.ShapeRefC;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Utility methods to load large triangle meshes from memory-mapped files and
+ * cook them into several spatially partitioned mesh shapes in parallel.
+ * <p>
+ * A vertex file contains little-endian 32-bit floats, 3 per vertex (x, y,
+ * z). An index file contains little-endian 32-bit ints, 3 per triangle.
+ * <p>
+ * Partitioning recursively splits the triangles at the median centroid along
+ * the longest axis of their bounds, until each chunk is small enough. Each
+ * chunk gets its own compacted vertex list and is cooked by a separate task,
+ * so cooking time scales with the number of threads instead of the total
+ * number of triangles.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+final public class MeshChunker {
+    // *************************************************************************
+    // constants
+
+    /**
+     * number of vertices per triangle
+     */
+    final private static int vpt = 3;
+    // *************************************************************************
+    // constructors
+
+    /**
+     * A private constructor to inhibit instantiation of this class.
+     */
+    private MeshChunker() {
+        // do nothing
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Partition the specified mesh and start cooking each chunk.
+     *
+     * @param vertices the vertex locations (3 floats per vertex, not null,
+     * unaffected)
+     * @param indices the vertex indices (3 per triangle, not null,
+     * unaffected)
+     * @param maxTrianglesPerChunk the maximum number of triangles per chunk
+     * (&gt;0)
+     * @param executor the executor to run cooking tasks (not null)
+     * @return a new list of futures, one per chunk
+     */
+    public static List<CompletableFuture<ShapeRefC>> cookChunks(
+            FloatBuffer vertices, IntBuffer indices,
+            int maxTrianglesPerChunk, Executor executor) {
+        List<int[]> chunks = partition(vertices, indices, maxTrianglesPerChunk);
+        List<CompletableFuture<ShapeRefC>> result
+                = new ArrayList<>(chunks.size());
+        for (int[] triangles : chunks) {
+            result.add(CompletableFuture.supplyAsync(() -> {
+                MeshShapeSettings settings
+                        = newChunkSettings(vertices, indices, triangles);
+                return ShapeCooker.cookNow(settings);
+            }, executor));
+        }
+
+        return result;
+    }
+
+    /**
+     * Memory-map the specified index file.
+     *
+     * @param path the location of the file (not null)
+     * @return a new read-only direct buffer
+     * @throws IOException if the file can't be mapped
+     */
+    public static IntBuffer mapIndices(Path path) throws IOException {
+        IntBuffer result = map(path).asIntBuffer();
+        return result;
+    }
+
+    /**
+     * Memory-map the specified vertex file.
+     *
+     * @param path the location of the file (not null)
+     * @return a new read-only direct buffer
+     * @throws IOException if the file can't be mapped
+     */
+    public static FloatBuffer mapVertices(Path path) throws IOException {
+        FloatBuffer result = map(path).asFloatBuffer();
+        return result;
+    }
+
+    /**
+     * Partition the triangles of the specified mesh into spatially coherent
+     * chunks.
+     *
+     * @param vertices the vertex locations (3 floats per vertex, not null,
+     * unaffected)
+     * @param indices the vertex indices (3 per triangle, not null,
+     * unaffected)
+     * @param maxTrianglesPerChunk the maximum number of triangles per chunk
+     * (&gt;0)
+     * @return a new list of arrays of triangle indices
+     */
+    public static List<int[]> partition(FloatBuffer vertices,
+            IntBuffer indices, int maxTrianglesPerChunk) {
+        assert maxTrianglesPerChunk > 0 : maxTrianglesPerChunk;
+
+        int numTriangles = indices.limit() / vpt;
+        float[] centroids = new float[3 * numTriangles];
+        for (int t = 0; t < numTriangles; ++t) {
+            for (int j = 0; j < vpt; ++j) {
+                int vertexIndex = indices.get(vpt * t + j);
+                for (int axis = 0; axis < 3; ++axis) {
+                    centroids[3 * t + axis]
+                            += vertices.get(3 * vertexIndex + axis) / vpt;
+                }
+            }
+        }
+
+        int[] order = new int[numTriangles];
+        for (int t = 0; t < numTriangles; ++t) {
+            order[t] = t;
+        }
+        List<int[]> result = new ArrayList<>(
+                1 + numTriangles / maxTrianglesPerChunk);
+        split(order, 0, numTriangles, centroids, maxTrianglesPerChunk,
+                result);
+
+        return result;
+    }
+
+    /**
+     * Write the specified index data to a file, for use with
+     * {@link #mapIndices(java.nio.file.Path)}.
+     *
+     * @param indices the data to write (not null, unaffected)
+     * @param path the destination (not null)
+     * @throws IOException if the file can't be written
+     */
+    public static void writeIndices(IntBuffer indices, Path path)
+            throws IOException {
+        int count = indices.limit();
+        ByteBuffer bytes = ByteBuffer.allocate(4 * count)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = 0; i < count; ++i) {
+            bytes.putInt(indices.get(i));
+        }
+        write(bytes, path);
+    }
+
+    /**
+     * Write the specified vertex data to a file, for use with
+     * {@link #mapVertices(java.nio.file.Path)}.
+     *
+     * @param vertices the data to write (not null, unaffected)
+     * @param path the destination (not null)
+     * @throws IOException if the file can't be written
+     */
+    public static void writeVertices(FloatBuffer vertices, Path path)
+            throws IOException {
+        int count = vertices.limit();
+        ByteBuffer bytes = ByteBuffer.allocate(4 * count)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = 0; i < count; ++i) {
+            bytes.putFloat(vertices.get(i));
+        }
+        write(bytes, path);
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Memory-map the specified file in little-endian byte order.
+     *
+     * @param path the location of the file (not null)
+     * @return a new read-only buffer
+     * @throws IOException if the file can't be mapped
+     */
+    private static ByteBuffer map(Path path) throws IOException {
+        try (FileChannel channel
+                = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(
+                    FileChannel.MapMode.READ_ONLY, 0L, channel.size());
+            ByteBuffer result = mapped.order(ByteOrder.LITTLE_ENDIAN);
+
+            return result;
+        }
+    }
+
+    /**
+     * Create mesh-shape settings for the specified triangles, with a
+     * compacted vertex list.
+     * <p>
+     * The chunk's vertex indices are sorted and deduplicated, so the cost is
+     * proportional to the size of the chunk, not the size of the whole mesh.
+     *
+     * @param vertices the vertex locations of the whole mesh (not null,
+     * unaffected)
+     * @param indices the vertex indices of the whole mesh (not null,
+     * unaffected)
+     * @param triangles the indices of the triangles to include (not null,
+     * unaffected)
+     * @return a new object
+     */
+    private static MeshShapeSettings newChunkSettings(FloatBuffer vertices,
+            IntBuffer indices, int[] triangles) {
+        // Gather the chunk's vertex indices:
+        int numIndices = vpt * triangles.length;
+        int[] meshIndices = new int[numIndices];
+        int n = 0;
+        for (int t : triangles) {
+            for (int j = 0; j < vpt; ++j) {
+                meshIndices[n] = indices.get(vpt * t + j);
+                ++n;
+            }
+        }
+
+        // Sort and deduplicate them to obtain the chunk's vertex list:
+        int[] used = meshIndices.clone();
+        Arrays.sort(used);
+        int numChunkVertices = 0;
+        for (int i = 0; i < numIndices; ++i) {
+            if (i == 0 || used[i] != used[i - 1]) {
+                used[numChunkVertices] = used[i];
+                ++numChunkVertices;
+            }
+        }
+
+        FloatBuffer chunkVertices
+                = ByteBuffer.allocateDirect(12 * numChunkVertices)
+                        .order(ByteOrder.nativeOrder()).asFloatBuffer();
+        for (int i = 0; i < numChunkVertices; ++i) {
+            int vertexIndex = used[i];
+            chunkVertices.put(vertices.get(3 * vertexIndex));
+            chunkVertices.put(vertices.get(3 * vertexIndex + 1));
+            chunkVertices.put(vertices.get(3 * vertexIndex + 2));
+        }
+        chunkVertices.flip();
+
+        IntBuffer chunkIndices = ByteBuffer.allocateDirect(4 * numIndices)
+                .order(ByteOrder.nativeOrder()).asIntBuffer();
+        for (int vertexIndex : meshIndices) {
+            int chunkIndex = Arrays.binarySearch(
+                    used, 0, numChunkVertices, vertexIndex);
+            chunkIndices.put(chunkIndex);
+        }
+        chunkIndices.flip();
+
+        MeshShapeSettings result
+                = new MeshShapeSettings(chunkVertices, chunkIndices);
+        return result;
+    }
+
+    /**
+     * Rearrange the specified range so the element at index {@code k} is the
+     * one that would be there if the range were sorted by centroid
+     * coordinate, with smaller elements before it and larger ones after it.
+     *
+     * @param order the triangle indices to rearrange (not null, modified)
+     * @param start the first index of the range (&ge;0)
+     * @param end one past the last index of the range (&gt;start)
+     * @param k the index to select (&ge;start, &lt;end)
+     * @param centroids the triangle centroids (3 floats per triangle, not
+     * null, unaffected)
+     * @param axis which coordinate to compare (0, 1, or 2)
+     */
+    private static void select(int[] order, int start, int end, int k,
+            float[] centroids, int axis) {
+        int lo = start;
+        int hi = end - 1;
+        while (lo < hi) {
+            float pivot = centroids[3 * order[(lo + hi) >>> 1] + axis];
+            int i = lo;
+            int j = hi;
+            while (i <= j) {
+                while (centroids[3 * order[i] + axis] < pivot) {
+                    ++i;
+                }
+                while (centroids[3 * order[j] + axis] > pivot) {
+                    --j;
+                }
+                if (i <= j) {
+                    int swap = order[i];
+                    order[i] = order[j];
+                    order[j] = swap;
+                    ++i;
+                    --j;
+                }
+            }
+            if (k <= j) {
+                hi = j;
+            } else if (k >= i) {
+                lo = i;
+            } else {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Recursively split the specified range of triangles until each chunk is
+     * small enough.
+     *
+     * @param order the triangle indices (not null, modified)
+     * @param start the first index of the range (&ge;0)
+     * @param end one past the last index of the range (&ge;start)
+     * @param centroids the triangle centroids (3 floats per triangle, not
+     * null, unaffected)
+     * @param maxTriangles the maximum number of triangles per chunk (&gt;0)
+     * @param addResult storage for the chunks (not null, added to)
+     */
+    private static void split(int[] order, int start, int end,
+            float[] centroids, int maxTriangles, List<int[]> addResult) {
+        int count = end - start;
+        if (count <= maxTriangles) {
+            if (count > 0) {
+                addResult.add(Arrays.copyOfRange(order, start, end));
+            }
+            return;
+        }
+
+        // Split along the longest axis of the centroids' bounds:
+        float[] min = {Float.MAX_VALUE, Float.MAX_VALUE, Float.MAX_VALUE};
+        float[] max = {-Float.MAX_VALUE, -Float.MAX_VALUE, -Float.MAX_VALUE};
+        for (int i = start; i < end; ++i) {
+            for (int axis = 0; axis < 3; ++axis) {
+                float c = centroids[3 * order[i] + axis];
+                min[axis] = Math.min(min[axis], c);
+                max[axis] = Math.max(max[axis], c);
+            }
+        }
+        int splitAxis = 0;
+        for (int axis = 1; axis < 3; ++axis) {
+            if (max[axis] - min[axis] > max[splitAxis] - min[splitAxis]) {
+                splitAxis = axis;
+            }
+        }
+
+        int middle = (start + end) >>> 1;
+        select(order, start, end, middle, centroids, splitAxis);
+        split(order, start, middle, centroids, maxTriangles, addResult);
+        split(order, middle, end, centroids, maxTriangles, addResult);
+    }
+
+    /**
+     * Write the specified bytes to a file, replacing any existing file.
+     *
+     * @param bytes the data to write (not null, position = end of data)
+     * @param path the destination (not null)
+     * @throws IOException if the file can't be written
+     */
+    private static void write(ByteBuffer bytes, Path path) throws IOException {
+        bytes.flip();
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+        }
+    }
+}
@@ -0,0 +1,414 @@
+/*
+ Copyright (c) 2026 Stephen Gold and Yanis Boudiaf
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+    list of conditions and the following disclaimer.
+
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+    this list of conditions and the following disclaimer in the documentation
+    and/or other materials provided with the distribution.
+
+ 3. Neither the name of the copyright holder nor the names of its
+    contributors may be used to endorse or promote products derived from
+    this software without specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.github.stephengold.sportjolt.javaapp.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.JarURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+import java.util.jar.JarEntry;
+import java.util.zip.CRC32;
+
+/**
+ * Load the Jolt-JNI native library from a persistent, versioned cache.
+ * <p>
+ * On first use, the library is extracted from the classpath into a
+ * subdirectory of the cache whose name is derived from the CRC-32 and size
+ * recorded in the JAR's directory, so a new library version never collides
+ * with an old one. On later starts, the cached file is verified by its size
+ * (and optionally its checksum) and loaded without re-extraction.
+ * <p>
+ * Extraction writes to a temporary file that's atomically renamed into place,
+ * so multiple JVMs on the same host can share the cache safely.
+ * <p>
+ * On x86-64 hosts, an optimized variant of the library is preferred when it's
+ * on the classpath and the CPU supports it: "fma" on Linux (which also
+ * requires AVX2, BMI1, F16C, LZCNT, and POPCNT) and "avx2" on Windows. CPU features are read from
+ * "/proc/cpuinfo", so on Windows the optimized variant is used only if
+ * requested by setting the "joltjni.variant" system property. The property
+ * ("baseline", "fma", or "avx2") overrides automatic selection on all
+ * platforms. The chosen variant and the path of the library file are
+ * printed to {@code System.out} as the library is loaded.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+final public class NativeLibraryCache {
+    // *************************************************************************
+    // constants
+
+    /**
+     * base name of the native library
+     */
+    final private static String baseName = "joltjni";
+    /**
+     * name of the baseline (unoptimized) variant
+     */
+    final public static String baselineVariant = "baseline";
+    /**
+     * CPU flags required by the optimized x86-64 variants, as named in
+     * "/proc/cpuinfo" ("abm" indicates LZCNT)
+     */
+    final private static String[] requiredFlags
+            = {"abm", "avx2", "bmi1", "f16c", "fma", "popcnt"};
+    /**
+     * name of the system property that overrides variant selection
+     */
+    final public static String variantProperty = "joltjni.variant";
+    // *************************************************************************
+    // fields
+
+    /**
+     * true if the most recent load found the library in the cache
+     */
+    private static boolean lastLoadWasHit;
+    /**
+     * path of the most recently loaded library file, or null if none
+     */
+    private static Path loadedPath;
+    /**
+     * variant of the most recently loaded library, or null if none
+     */
+    private static String loadedVariant;
+    // *************************************************************************
+    // constructors
+
+    /**
+     * A private constructor to inhibit instantiation of this class.
+     */
+    private NativeLibraryCache() {
+        // do nothing
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Return the default cache directory: "$XDG_CACHE_HOME/jolt-jni" if the
+     * environment variable is set, otherwise "~/.cache/jolt-jni".
+     *
+     * @return a filesystem path (not null)
+     */
+    public static Path defaultCacheRoot() {
+        String xdg = System.getenv("XDG_CACHE_HOME");
+        Path result;
+        if (xdg == null || xdg.isEmpty()) {
+            String home = System.getProperty("user.home");
+            result = Paths.get(home, ".cache", "jolt-jni");
+        } else {
+            result = Paths.get(xdg, "jolt-jni");
+        }
+
+        return result;
+    }
+
+    /**
+     * Test whether the most recent load found the library in the cache.
+     *
+     * @return true if no extraction was needed, otherwise false
+     */
+    public static boolean lastLoadWasHit() {
+        return lastLoadWasHit;
+    }
+
+    /**
+     * Load the native library using the default cache directory, verifying
+     * the cached file by its size only.
+     *
+     * @return the time spent locating, extracting, and loading the library
+     * (in nanoseconds)
+     */
+    public static long load() {
+        long result = load(defaultCacheRoot(), false);
+        return result;
+    }
+
+    /**
+     * Load the native library using the specified cache directory.
+     *
+     * @param cacheRoot the root of the cache (not null)
+     * @param verifyChecksum true to verify the CRC-32 of a cached file before
+     * loading it, false to verify only its size
+     * @return the time spent locating, extracting, and loading the library
+     * (in nanoseconds)
+     * @throws IllegalStateException if the library can't be loaded
+     */
+    public static long load(Path cacheRoot, boolean verifyChecksum) {
+        long startNanos = System.nanoTime();
+
+        String fileName = System.mapLibraryName(baseName);
+        ClassLoader classLoader = NativeLibraryCache.class.getClassLoader();
+        String variant = selectVariant();
+        String resourceDir = resourceDirectory(variant);
+        String resourceName = resourceDir + "/" + fileName;
+        URL url = classLoader.getResource(resourceName);
+        if (url == null && !variant.equals(baselineVariant)) {
+            // The optimized variant isn't on the classpath, so fall back:
+            variant = baselineVariant;
+            resourceDir = resourceDirectory(variant);
+            resourceName = resourceDir + "/" + fileName;
+            url = classLoader.getResource(resourceName);
+        }
+        if (url == null) {
+            throw new IllegalStateException(
+                    "Native library not found on the classpath: "
+                    + resourceName);
+        }
+
+        try {
+            URLConnection connection = url.openConnection();
+            boolean isJar = connection instanceof JarURLConnection;
+            long crc;
+            long size;
+            if (isJar) {
+                JarEntry entry = ((JarURLConnection) connection).getJarEntry();
+                crc = entry.getCrc();
+                size = entry.getSize();
+            } else { // an exploded classpath entry, keyed by timestamp
+                crc = Files.getLastModifiedTime(Paths.get(url.toURI()))
+                        .toMillis();
+                size = connection.getContentLengthLong();
+            }
+
+            String key = String.format("%08x-%d", crc, size);
+            Path dir = cacheRoot.resolve(resourceDir).resolve(key);
+            Path libPath = dir.resolve(fileName);
+
+            boolean hit = Files.isRegularFile(libPath)
+                    && Files.size(libPath) == size
+                    && (!verifyChecksum || !isJar || crcOf(libPath) == crc);
+            if (!hit) {
+                extract(url, dir, libPath);
+            }
+
+            Path absolutePath = libPath.toAbsolutePath();
+            System.out.printf("Loading the %s variant of Jolt-JNI (%s) from"
+                    + " %s%n", variant, hit ? "cached" : "extracted",
+                    absolutePath);
+            System.load(absolutePath.toString());
+            lastLoadWasHit = hit;
+            loadedPath = libPath;
+            loadedVariant = variant;
+
+        } catch (Exception exception) {
+            throw new IllegalStateException(
+                    "Failed to load a Jolt-JNI native library!", exception);
+        }
+
+        long result = System.nanoTime() - startNanos;
+        return result;
+    }
+
+    /**
+     * Return the path of the most recently loaded library file.
+     *
+     * @return the pre-existing path, or null if nothing has been loaded
+     */
+    public static Path loadedPath() {
+        return loadedPath;
+    }
+
+    /**
+     * Return the variant of the most recently loaded library.
+     *
+     * @return the variant name ("baseline", "fma", or "avx2"), or null if
+     * nothing has been loaded
+     */
+    public static String loadedVariant() {
+        return loadedVariant;
+    }
+
+    /**
+     * Choose the fastest library variant supported by the current host,
+     * honoring the "joltjni.variant" system property if it's set.
+     *
+     * @return the variant name ("baseline", "fma", or "avx2")
+     */
+    public static String selectVariant() {
+        String override = System.getProperty(variantProperty);
+        if (override != null && !override.isEmpty()) {
+            return override;
+        }
+
+        String osArch = System.getProperty("os.arch");
+        boolean isX64 = osArch.equals("amd64") || osArch.equals("x86_64");
+        String osName = System.getProperty("os.name").toLowerCase(Locale.ROOT);
+        String result = baselineVariant;
+        if (isX64 && osName.startsWith("linux") && hasRequiredCpuFlags()) {
+            result = "fma";
+        }
+
+        return result;
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Calculate the CRC-32 of the specified file.
+     *
+     * @param path the path to the file (not null)
+     * @return the checksum
+     * @throws IOException if the file can't be read
+     */
+    private static long crcOf(Path path) throws IOException {
+        CRC32 crc = new CRC32();
+        byte[] buffer = new byte[64 * 1_024];
+        try (InputStream stream = Files.newInputStream(path)) {
+            int numBytes;
+            while ((numBytes = stream.read(buffer)) > 0) {
+                crc.update(buffer, 0, numBytes);
+            }
+        }
+
+        long result = crc.getValue();
+        return result;
+    }
+
+    /**
+     * Extract the specified resource into the cache. A temporary file is
+     * written and then atomically renamed, so concurrent JVMs never load a
+     * partially written library.
+     *
+     * @param url the location of the resource (not null)
+     * @param dir the destination directory (not null)
+     * @param libPath the destination path (not null)
+     * @throws IOException if the extraction fails
+     */
+    private static void extract(URL url, Path dir, Path libPath)
+            throws IOException {
+        Files.createDirectories(dir);
+        Path tmpPath = Files.createTempFile(dir, baseName, ".tmp");
+        try {
+            try (InputStream in = url.openStream();
+                    OutputStream out = Files.newOutputStream(tmpPath)) {
+                in.transferTo(out);
+            }
+            Files.move(tmpPath, libPath, StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING);
+
+        } catch (IOException exception) {
+            /*
+             * On some platforms, the rename fails if another JVM has
+             * already extracted and loaded the library.
+             * In that case, use the other JVM's copy:
+             */
+            if (!Files.isRegularFile(libPath)) {
+                throw exception;
+            }
+        } finally {
+            Files.deleteIfExists(tmpPath);
+        }
+    }
+
+    /**
+     * Test whether the host CPU supports all the instruction-set extensions
+     * required by the optimized x86-64 variants, according to
+     * "/proc/cpuinfo".
+     *
+     * @return true if all are supported, false if any is unsupported or the
+     * information is unavailable
+     */
+    private static boolean hasRequiredCpuFlags() {
+        Path cpuinfo = Paths.get("/proc/cpuinfo");
+        try {
+            for (String line : Files.readAllLines(cpuinfo)) {
+                if (line.startsWith("flags")) {
+                    String padded = line.replace('\t', ' ') + " ";
+                    for (String flag : requiredFlags) {
+                        if (!padded.contains(" " + flag + " ")) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }
+            }
+        } catch (IOException exception) {
+            // CPU flags are unavailable on this platform
+        }
+
+        return false;
+    }
+
+    /**
+     * Determine the classpath directory containing the specified variant of
+     * the native library for the current platform.
+     *
+     * @param variant the variant name ("baseline", "fma", or "avx2")
+     * @return the resource path (not null, no trailing slash)
+     * @throws IllegalStateException if the platform isn't supported
+     */
+    private static String resourceDirectory(String variant) {
+        String osName = System.getProperty("os.name").toLowerCase(Locale.ROOT);
+        String osArch = System.getProperty("os.arch").toLowerCase(Locale.ROOT);
+
+        String os;
+        if (osName.startsWith("linux")) {
+            os = "linux";
+        } else if (osName.startsWith("mac")) {
+            os = "osx";
+        } else if (osName.startsWith("windows")) {
+            os = "windows";
+        } else {
+            throw new IllegalStateException("os.name = " + osName);
+        }
+
+        String arch;
+        switch (osArch) {
+            case "aarch64":
+            case "arm64":
+                arch = "aarch64";
+                break;
+
+            case "amd64":
+            case "x86_64":
+                arch = "x86-64";
+                break;
+
+            case "arm":
+            case "armhf":
+                arch = "armhf";
+                break;
+
+            default:
+                throw new IllegalStateException("os.arch = " + osArch);
+        }
+
+        if (arch.equals("x86-64") && !variant.equals(baselineVariant)) {
+            arch += "-" + variant; // for example, "x86-64-fma"
+        }
+
+        String result = os + "/" + arch + "/com/github/stephengold";
+        return result;
+    }
+}
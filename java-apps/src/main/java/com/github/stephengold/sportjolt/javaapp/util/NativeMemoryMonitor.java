@@ -0,0 +1,507 @@
+/*
+ Copyright (c) 2026 Stephen Gold and Yanis Boudiaf
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+    list of conditions and the following disclaimer.
+
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+    this list of conditions and the following disclaimer in the documentation
+    and/or other materials provided with the distribution.
+
+ 3. Neither the name of the copyright holder nor the names of its
+    contributors may be used to endorse or promote products derived from
+    this software without specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.github.stephengold.sportjolt.javaapp.util;
+
+import java.io.IOException;
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.PhantomReference;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Track native-memory usage of the current process and apply backpressure when
+ * it grows beyond a configured limit.
+ * <p>
+ * Native objects assigned to unreachable JVM objects are freed by the cleaner
+ * task only after the garbage collector has processed them. If an app churns
+ * through {@code JoltPhysicsObject} instances faster than the collector runs,
+ * native memory can grow even though the heap looks healthy. Invoke
+ * {@link #sample()} periodically to update the statistics, and invoke
+ * {@link #awaitHeadroom()} from producer threads to request a collection and
+ * stall until the cleaner catches up. While stalled, the RSS is re-checked
+ * with exponential backoff, so a long stall doesn't keep a core busy.
+ * <p>
+ * To see how far reclamation lags behind, pass objects to
+ * {@link #register(java.lang.Object)} as they're created. The monitor tracks
+ * each with its own {@code PhantomReference}, which the collector enqueues
+ * when it finds the object unreachable, just as it does for the cleaner. Each
+ * sample drains the queue and reports the queue depth (references enqueued
+ * since the previous sample), the reclaim rate, and the reclaim latency
+ * (time from registration to enqueue, which for short-lived objects is
+ * dominated by the wait for the collector).
+ * <p>
+ * The resident set size (RSS) is read from the "VmRSS" line of
+ * "/proc/self/status", which reports it in kibibytes regardless of the page
+ * size, so it's only available on Linux. Elsewhere, only the direct-buffer,
+ * collector, and reclaim statistics are reported and backpressure is
+ * disabled.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+final public class NativeMemoryMonitor {
+    // *************************************************************************
+    // constants
+
+    /**
+     * longest interval between RSS checks while stalled (in milliseconds)
+     */
+    final private static long maxPollMillis = 128L;
+    /**
+     * first interval between RSS checks while stalled (in milliseconds)
+     */
+    final private static long minPollMillis = 1L;
+    /**
+     * Linux pseudo-file that reports the status of the current process
+     */
+    final private static Path statusPath = Paths.get("/proc/self/status");
+    /**
+     * prefix of the line in the status file that reports the RSS
+     */
+    final private static String rssPrefix = "VmRSS:";
+    // *************************************************************************
+    // fields
+
+    /**
+     * memory pool for direct buffers, or null if not found
+     */
+    final private BufferPoolMXBean directPool;
+    /**
+     * total collections completed as of the previous sample
+     */
+    private long gcCount;
+    /**
+     * total collection time as of the previous sample (in milliseconds)
+     */
+    private long gcMillis;
+    /**
+     * duration of the most recent stall (in nanoseconds)
+     */
+    private long lastStallNanos;
+    /**
+     * longest reclaim latency seen so far (in nanoseconds)
+     */
+    private long maxReclaimNanos;
+    /**
+     * mean reclaim latency of the references drained by the previous sample
+     * (in nanoseconds)
+     */
+    private double meanReclaimNanos;
+    /**
+     * highest RSS seen so far (in bytes)
+     */
+    private long peakRssBytes;
+    /**
+     * number of references drained by the previous sample
+     */
+    private int queueDepth;
+    /**
+     * queue for references to registered objects that became unreachable
+     */
+    final private ReferenceQueue<Object> reclaimQueue = new ReferenceQueue<>();
+    /**
+     * reclaim rate between the 2 most recent samples (in objects per second)
+     */
+    private double reclaimRate;
+    /**
+     * number of registered objects found unreachable so far
+     */
+    private long reclaimedCount;
+    /**
+     * number of objects registered so far
+     */
+    private long registeredCount;
+    /**
+     * RSS as of the previous sample (in bytes) or -1 if unavailable
+     */
+    private long rssBytes = -1L;
+    /**
+     * RSS growth rate between the 2 most recent samples (in bytes per second)
+     */
+    private double rssGrowthRate;
+    /**
+     * RSS above which producers are stalled (in bytes)
+     */
+    final private long rssLimitBytes;
+    /**
+     * time of the previous sample (from {@code System.nanoTime()})
+     */
+    private long sampleNanos;
+    /**
+     * number of stalls so far
+     */
+    private long stallCount;
+    /**
+     * maximum duration of a stall (in milliseconds)
+     */
+    final private long stallTimeoutMillis;
+    /**
+     * references to registered objects, kept reachable until drained
+     */
+    final private Set<Reference<?>> trackers = ConcurrentHashMap.newKeySet();
+    // *************************************************************************
+    // constructors
+
+    /**
+     * Instantiate a monitor with the specified limits.
+     *
+     * @param rssLimitBytes the RSS above which {@code awaitHeadroom()} stalls
+     * (in bytes, &gt;0)
+     * @param stallTimeoutMillis the maximum duration of a stall (in
+     * milliseconds, &ge;0)
+     */
+    public NativeMemoryMonitor(long rssLimitBytes, long stallTimeoutMillis) {
+        assert rssLimitBytes > 0L : rssLimitBytes;
+        assert stallTimeoutMillis >= 0L : stallTimeoutMillis;
+
+        this.rssLimitBytes = rssLimitBytes;
+        this.stallTimeoutMillis = stallTimeoutMillis;
+
+        BufferPoolMXBean direct = null;
+        List<BufferPoolMXBean> pools = ManagementFactory
+                .getPlatformMXBeans(BufferPoolMXBean.class);
+        for (BufferPoolMXBean pool : pools) {
+            if (pool.getName().equals("direct")) {
+                direct = pool;
+            }
+        }
+        this.directPool = direct;
+
+        sample();
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * If the RSS exceeds the limit, request a garbage collection and block
+     * the calling thread until the RSS drops below the limit or the timeout
+     * expires. The interval between checks starts at 1 ms and doubles after
+     * each check, up to 128 ms. Intended to be invoked by threads that create
+     * many short-lived {@code JoltPhysicsObject} instances.
+     *
+     * @return true if the RSS is below the limit, otherwise false
+     */
+    public boolean awaitHeadroom() {
+        long rss = readRssBytes();
+        if (rss < 0L || rss <= rssLimitBytes) {
+            return true;
+        }
+
+        long startNanos = System.nanoTime();
+        long deadline = startNanos + 1_000_000L * stallTimeoutMillis;
+        System.gc(); // to enqueue unreachable objects for the cleaner
+        boolean result = false;
+        long sleepMillis = minPollMillis;
+        long remainingNanos = deadline - System.nanoTime();
+        while (!result && remainingNanos > 0L) {
+            long remainingMillis = 1L + (remainingNanos - 1L) / 1_000_000L;
+            try {
+                Thread.sleep(Math.min(sleepMillis, remainingMillis));
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            result = (readRssBytes() <= rssLimitBytes);
+            sleepMillis = Math.min(2L * sleepMillis, maxPollMillis);
+            remainingNanos = deadline - System.nanoTime();
+        }
+
+        synchronized (this) {
+            ++stallCount;
+            lastStallNanos = System.nanoTime() - startNanos;
+        }
+
+        return result;
+    }
+
+    /**
+     * Return the number of garbage collections completed as of the most
+     * recent sample.
+     *
+     * @return the count (&ge;0)
+     */
+    public synchronized long gcCount() {
+        return gcCount;
+    }
+
+    /**
+     * Return the duration of the most recent stall.
+     *
+     * @return the duration (in nanoseconds, &ge;0)
+     */
+    public synchronized long lastStallNanos() {
+        return lastStallNanos;
+    }
+
+    /**
+     * Return the longest reclaim latency seen by {@code sample()}.
+     *
+     * @return the latency (in nanoseconds, &ge;0)
+     */
+    public synchronized long maxReclaimNanos() {
+        return maxReclaimNanos;
+    }
+
+    /**
+     * Return the mean reclaim latency of the references drained by the most
+     * recent sample.
+     *
+     * @return the latency (in nanoseconds, &ge;0) or 0 if none were drained
+     */
+    public synchronized double meanReclaimNanos() {
+        return meanReclaimNanos;
+    }
+
+    /**
+     * Return the highest RSS seen by {@code sample()}.
+     *
+     * @return the size (in bytes, &ge;0) or 0 if unavailable
+     */
+    public synchronized long peakRssBytes() {
+        return peakRssBytes;
+    }
+
+    /**
+     * Return the number of references that the most recent sample drained
+     * from the queue, which is the number of registered objects found
+     * unreachable since the sample before it.
+     *
+     * @return the count (&ge;0)
+     */
+    public synchronized int queueDepth() {
+        return queueDepth;
+    }
+
+    /**
+     * Return the rate at which registered objects were found unreachable
+     * between the 2 most recent samples.
+     *
+     * @return the rate (in objects per second, &ge;0)
+     */
+    public synchronized double reclaimRate() {
+        return reclaimRate;
+    }
+
+    /**
+     * Track the specified object, so that the monitor's statistics include
+     * its reclamation. Registration doesn't keep the object reachable.
+     *
+     * @param <T> the type of object
+     * @param object the object to track (not null)
+     * @return the argument (for chaining)
+     */
+    public <T> T register(T object) {
+        trackers.add(new Tracker(object, reclaimQueue));
+        synchronized (this) {
+            ++registeredCount;
+        }
+
+        return object;
+    }
+
+    /**
+     * Return the number of registered objects that haven't yet been found
+     * unreachable as of the most recent sample.
+     *
+     * @return the count (&ge;0)
+     */
+    public synchronized long registeredLiveCount() {
+        return registeredCount - reclaimedCount;
+    }
+
+    /**
+     * Return the RSS as of the most recent sample.
+     *
+     * @return the size (in bytes, &ge;0) or -1 if unavailable
+     */
+    public synchronized long rssBytes() {
+        return rssBytes;
+    }
+
+    /**
+     * Return the rate at which the RSS grew between the 2 most recent
+     * samples.
+     *
+     * @return the rate (in bytes per second, negative if shrinking)
+     */
+    public synchronized double rssGrowthRate() {
+        return rssGrowthRate;
+    }
+
+    /**
+     * Update the statistics. Intended to be invoked periodically, for instance
+     * once per second.
+     */
+    public synchronized void sample() {
+        long nowNanos = System.nanoTime();
+        long rss = readRssBytes();
+        if (rss >= 0L && rssBytes >= 0L && nowNanos > sampleNanos) {
+            double seconds = 1e-9 * (nowNanos - sampleNanos);
+            this.rssGrowthRate = (rss - rssBytes) / seconds;
+        }
+        this.rssBytes = rss;
+        this.peakRssBytes = Math.max(peakRssBytes, rss);
+        drainReclaimQueue(nowNanos);
+        this.sampleNanos = nowNanos;
+
+        long count = 0L;
+        long millis = 0L;
+        for (GarbageCollectorMXBean collector
+                : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0L, collector.getCollectionCount());
+            millis += Math.max(0L, collector.getCollectionTime());
+        }
+        this.gcCount = count;
+        this.gcMillis = millis;
+    }
+
+    /**
+     * Return the number of stalls so far.
+     *
+     * @return the count (&ge;0)
+     */
+    public synchronized long stallCount() {
+        return stallCount;
+    }
+    // *************************************************************************
+    // Object methods
+
+    /**
+     * Describe the statistics as of the most recent sample.
+     *
+     * @return descriptive text (not null, not empty)
+     */
+    @Override
+    public synchronized String toString() {
+        long directBytes = (directPool == null) ? -1L
+                : directPool.getMemoryUsed();
+        String result = String.format("rss=%d KiB peak=%d KiB growth=%.1f KiB/s"
+                + " direct=%d KiB gcCount=%d gcTime=%d ms stalls=%d"
+                + " lastStall=%.3f ms live=%d queued=%d reclaim=%.1f/s"
+                + " latency=%.3f ms maxLatency=%.3f ms",
+                rssBytes / 1_024L, peakRssBytes / 1_024L,
+                rssGrowthRate / 1_024.0, directBytes / 1_024L, gcCount,
+                gcMillis, stallCount, 1e-6 * lastStallNanos,
+                registeredCount - reclaimedCount, queueDepth, reclaimRate,
+                1e-6 * meanReclaimNanos, 1e-6 * maxReclaimNanos);
+
+        return result;
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Drain the queue of references to registered objects that became
+     * unreachable, and update the reclaim statistics. Invoked only by
+     * {@code sample()}.
+     *
+     * @param nowNanos the time of the sample (from {@code System.nanoTime()})
+     */
+    private void drainReclaimQueue(long nowNanos) {
+        int numDrained = 0;
+        long sumNanos = 0L;
+        Reference<?> reference = reclaimQueue.poll();
+        while (reference != null) {
+            trackers.remove(reference);
+            long latency = nowNanos - ((Tracker) reference).registeredNanos;
+            sumNanos += latency;
+            this.maxReclaimNanos = Math.max(maxReclaimNanos, latency);
+            ++numDrained;
+            reference = reclaimQueue.poll();
+        }
+
+        this.queueDepth = numDrained;
+        this.reclaimedCount += numDrained;
+        this.meanReclaimNanos
+                = (numDrained == 0) ? 0. : sumNanos / (double) numDrained;
+        if (nowNanos > sampleNanos && sampleNanos != 0L) {
+            double seconds = 1e-9 * (nowNanos - sampleNanos);
+            this.reclaimRate = numDrained / seconds;
+        }
+    }
+
+    /**
+     * Read the current RSS of the process.
+     *
+     * @return the size (in bytes, &ge;0) or -1 if unavailable
+     */
+    private static long readRssBytes() {
+        long result = -1L;
+        try {
+            List<String> lines
+                    = Files.readAllLines(statusPath, StandardCharsets.US_ASCII);
+            for (String line : lines) {
+                if (line.startsWith(rssPrefix)) {
+                    // for example, "VmRSS:     123456 kB"
+                    String[] fields = line.substring(rssPrefix.length())
+                            .trim().split("\\s+");
+                    result = 1_024L * Long.parseLong(fields[0]);
+                    break;
+                }
+            }
+        } catch (IOException | NumberFormatException exception) {
+            // RSS is unavailable on this platform
+        }
+
+        return result;
+    }
+    // *************************************************************************
+    // nested classes
+
+    /**
+     * Phantom reference to a registered object, which records when the
+     * object was registered.
+     */
+    final private static class Tracker extends PhantomReference<Object> {
+        /**
+         * time of registration (from {@code System.nanoTime()})
+         */
+        final private long registeredNanos;
+
+        /**
+         * Instantiate a reference to the specified object.
+         *
+         * @param object the object to track (not null)
+         * @param queue the queue to notify when the object becomes
+         * unreachable (not null)
+         */
+        Tracker(Object object, ReferenceQueue<Object> queue) {
+            super(object, queue);
+            this.registeredNanos = System.nanoTime();
+        }
+    }
+}
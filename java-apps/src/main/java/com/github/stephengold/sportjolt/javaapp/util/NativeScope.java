@@ -0,0 +1,309 @@
+/*
+ Copyright (c) 2026 Stephen Gold and Yanis Boudiaf
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+    list of conditions and the following disclaimer.
+
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+    this list of conditions and the following disclaimer in the documentation
+    and/or other materials provided with the distribution.
+
+ 3. Neither the name of the copyright holder nor the names of its
+    contributors may be used to endorse or promote products derived from
+    this software without specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.github.stephengold.sportjolt.javaapp.util;
+
+import com.github.stephengold.joltjni.JoltPhysicsObject;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A scope for short-lived {@code JoltPhysicsObject} instances, intended for
+ * use in try-with-resources statements. Objects tracked by the scope are
+ * closed, in reverse order of tracking, when the scope is closed. For example:
+ * <pre>{@code
+ * try (NativeScope scope = NativeScope.open()) {
+ *     RMat44 transform = scope.track(RMat44.sTranslation(location));
+ *     CollideShapeSettings settings = scope.track(new CollideShapeSettings());
+ *     // ... use transform and settings ...
+ * }
+ * }</pre>
+ * <p>
+ * Closing native objects promptly relieves the cleaner task, but it's only
+ * safe if no tracked object remains in use after the scope closes. To keep an
+ * object alive past the end of the scope, pass it to {@link #release}. When
+ * JVM assertions are enabled, the scope records where each object was tracked
+ * and verifies that scopes are closed in last-in/first-out order. An object
+ * tracked by 2 open scopes causes an {@code IllegalStateException}.
+ * <p>
+ * Also when assertions are enabled, closing a scope checks for tracked
+ * objects that were already closed or that no longer own a native object
+ * (for instance, because ownership passed to a native container). Such an
+ * object causes an {@code IllegalStateException}, with the place where it
+ * was tracked as the cause, after every tracked object is closed. The check
+ * doesn't detect objects that are used after the scope closes; avoiding that
+ * remains the caller's responsibility.
+ * <p>
+ * Scopes are confined to the thread that opened them: tracking, releasing,
+ * or closing from any other thread causes an
+ * {@code IllegalStateException}.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+final public class NativeScope implements AutoCloseable {
+    // *************************************************************************
+    // constants
+
+    /**
+     * open scopes of each thread, innermost first
+     */
+    final private static ThreadLocal<Deque<NativeScope>> openScopes
+            = ThreadLocal.withInitial(ArrayDeque::new);
+    // *************************************************************************
+    // fields
+
+    /**
+     * true once the scope has been closed
+     */
+    private boolean isClosed;
+    /**
+     * tracked objects, in the order they were tracked
+     */
+    final private List<JoltPhysicsObject> objects = new ArrayList<>(16);
+    /**
+     * where each tracked object was tracked (assertions enabled) or null
+     * (assertions disabled)
+     */
+    private Map<JoltPhysicsObject, Throwable> origins;
+    /**
+     * thread that opened the scope
+     */
+    final private Thread owner;
+    // *************************************************************************
+    // constructors
+
+    /**
+     * Instantiate a scope owned by the current thread.
+     */
+    private NativeScope() {
+        this.owner = Thread.currentThread();
+        assert enableOrigins();
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Return the innermost open scope of the current thread.
+     *
+     * @return the pre-existing instance (not null)
+     * @throws IllegalStateException if the thread has no open scope
+     */
+    public static NativeScope current() {
+        NativeScope result = openScopes.get().peekFirst();
+        if (result == null) {
+            throw new IllegalStateException("No open scope on this thread.");
+        }
+
+        return result;
+    }
+
+    /**
+     * Track the specified object in the innermost open scope of the current
+     * thread.
+     *
+     * @param <T> the type of object
+     * @param object the object to track (not null)
+     * @return the argument (for chaining)
+     * @throws IllegalStateException if the thread has no open scope
+     */
+    public static <T extends JoltPhysicsObject> T local(T object) {
+        T result = current().track(object);
+        return result;
+    }
+
+    /**
+     * Open a new scope on the current thread.
+     *
+     * @return a new scope, which becomes the thread's innermost open scope
+     */
+    public static NativeScope open() {
+        NativeScope result = new NativeScope();
+        openScopes.get().addFirst(result);
+
+        return result;
+    }
+
+    /**
+     * Stop tracking the specified object, so that it survives the closing of
+     * this scope.
+     *
+     * @param <T> the type of object
+     * @param object the object to release (not null)
+     * @return the argument (for chaining)
+     */
+    public <T extends JoltPhysicsObject> T release(T object) {
+        verifyOpen();
+        for (int i = objects.size() - 1; i >= 0; --i) {
+            if (objects.get(i) == object) {
+                objects.remove(i);
+                break;
+            }
+        }
+        if (origins != null) {
+            origins.remove(object);
+        }
+
+        return object;
+    }
+
+    /**
+     * Track the specified object, so that it gets closed when this scope is
+     * closed.
+     *
+     * @param <T> the type of object
+     * @param object the object to track (not null)
+     * @return the argument (for chaining)
+     */
+    public <T extends JoltPhysicsObject> T track(T object) {
+        verifyOpen();
+        if (origins != null) {
+            for (NativeScope scope : openScopes.get()) {
+                Map<JoltPhysicsObject, Throwable> map = scope.origins;
+                if (map != null && map.containsKey(object)) {
+                    throw new IllegalStateException(
+                            "Object is already tracked by an open scope.",
+                            map.get(object));
+                }
+            }
+            origins.put(object, new Throwable("tracked here"));
+        }
+        objects.add(object);
+
+        return object;
+    }
+    // *************************************************************************
+    // AutoCloseable methods
+
+    /**
+     * Close all tracked objects, in reverse order, and close this scope.
+     * Closing a scope that's already closed has no effect. Every tracked
+     * object is closed even if some fail; the first failure is rethrown with
+     * the others suppressed.
+     *
+     * @throws IllegalStateException if invoked by a thread other than the
+     * owner, or if assertions are enabled and a tracked object was already
+     * closed or no longer owns a native object
+     * @throws RuntimeException if a tracked object fails to close
+     */
+    @Override
+    public void close() {
+        if (isClosed) {
+            return;
+        }
+        if (owner != Thread.currentThread()) {
+            throw new IllegalStateException(
+                    "The scope is owned by " + owner.getName());
+        }
+
+        Deque<NativeScope> stack = openScopes.get();
+        NativeScope innermost = stack.peekFirst();
+        assert innermost == this : "closed out of order";
+        stack.remove(this);
+
+        RuntimeException failure = null;
+        if (origins != null) {
+            JoltPhysicsObject disowned = findDisowned();
+            if (disowned != null) {
+                failure = new IllegalStateException(
+                        "A tracked object was already closed or no longer "
+                        + "owns a native object.", origins.get(disowned));
+            }
+        }
+
+        for (int i = objects.size() - 1; i >= 0; --i) {
+            try {
+                objects.get(i).close();
+            } catch (RuntimeException exception) {
+                if (failure == null) {
+                    failure = exception;
+                } else {
+                    failure.addSuppressed(exception);
+                }
+            }
+        }
+        objects.clear();
+        if (origins != null) {
+            origins.clear();
+        }
+        this.isClosed = true;
+
+        if (failure != null) {
+            throw failure;
+        }
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Enable recording of where objects were tracked. Invoked only when JVM
+     * assertions are enabled.
+     *
+     * @return true
+     */
+    private boolean enableOrigins() {
+        this.origins = new IdentityHashMap<>(16);
+        return true;
+    }
+
+    /**
+     * Find a tracked object that was already closed or that no longer owns
+     * a native object.
+     *
+     * @return the first such object in tracking order, or null if none
+     */
+    private JoltPhysicsObject findDisowned() {
+        for (JoltPhysicsObject object : objects) {
+            if (!object.hasAssignedNativeObject()
+                    || !object.ownsNativeObject()) {
+                return object;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Verify that this scope is open and owned by the current thread.
+     *
+     * @throws IllegalStateException if the scope is closed or owned by
+     * another thread
+     */
+    private void verifyOpen() {
+        if (isClosed) {
+            throw new IllegalStateException("The scope is closed.");
+        }
+        if (owner != Thread.currentThread()) {
+            throw new IllegalStateException(
+                    "The scope is owned by " + owner.getName());
+        }
+    }
+}
@@ -0,0 +1,267 @@
+/*
+ Copyright (c) 2026 Stephen Gold and Yanis Boudiaf
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+    list of conditions and the following disclaimer.
+
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+    this list of conditions and the following disclaimer in the documentation
+    and/or other materials provided with the distribution.
+
+ 3. Neither the name of the copyright holder nor the names of its
+    contributors may be used to endorse or promote products derived from
+    this software without specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.github.stephengold.sportjolt.javaapp.util;
+
+import com.github.stephengold.joltjni.BodyLockMultiRead;
+import com.github.stephengold.joltjni.PhysicsSystem;
+import com.github.stephengold.joltjni.readonly.ConstBody;
+import com.github.stephengold.joltjni.readonly.ConstBodyLockInterface;
+import com.github.stephengold.joltjni.readonly.RVec3Arg;
+import com.github.stephengold.joltjni.readonly.Vec3Arg;
+import com.github.stephengold.sportjolt.physics.PhysicsTickListener;
+import java.nio.FloatBuffer;
+import java.util.Arrays;
+import javax.script.Invocable;
+import javax.script.ScriptException;
+
+/**
+ * A tick listener that lets script code control many bodies with a single
+ * call per physics tick.
+ * <p>
+ * Before each tick, the state of every managed body is gathered into a
+ * packed array of 9 floats per body: the location (x, y, z), the linear
+ * velocity (x, y, z), and the angular velocity (x, y, z), all in system
+ * coordinates. The handler is then invoked once with that array and 2 zeroed
+ * command arrays (3 floats per body) in which it may store forces and
+ * impulses. Non-zero commands are applied in bulk by
+ * {@code BulkBodyInterface}. This avoids a Java-to-script call and vector
+ * wrapping for each body on each tick.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+final public class ScriptTickBridge implements PhysicsTickListener {
+    // *************************************************************************
+    // constants
+
+    /**
+     * number of floats per body in the state array
+     */
+    final public static int floatsPerState = 9;
+    // *************************************************************************
+    // fields
+
+    /**
+     * forces to apply during the upcoming tick (3 floats per body)
+     */
+    final private float[] forces;
+    /**
+     * impulses to apply during the upcoming tick (3 floats per body)
+     */
+    final private float[] impulses;
+    /**
+     * state of each managed body at the start of the upcoming tick (9 floats
+     * per body)
+     */
+    final private float[] state;
+    /**
+     * IDs of the managed bodies
+     */
+    final private int[] bodyIds;
+    /**
+     * script code to invoke once per tick
+     */
+    final private TickHandler handler;
+    // *************************************************************************
+    // constructors
+
+    /**
+     * Instantiate a bridge for the specified bodies.
+     *
+     * @param handler the code to invoke once per tick (not null)
+     * @param bodyIds the IDs of the bodies to manage (not null, unaffected)
+     */
+    public ScriptTickBridge(TickHandler handler, int... bodyIds) {
+        int numBodies = bodyIds.length;
+        this.bodyIds = bodyIds.clone();
+        this.handler = handler;
+        this.forces = new float[3 * numBodies];
+        this.impulses = new float[3 * numBodies];
+        this.state = new float[floatsPerState * numBodies];
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Return the number of managed bodies.
+     *
+     * @return the count (&ge;0)
+     */
+    public int countBodies() {
+        int result = bodyIds.length;
+        return result;
+    }
+
+    /**
+     * Create a bridge that invokes the named top-level function of a script
+     * engine, with arguments (state, forces, impulses, timeStep).
+     *
+     * @param invocable the engine that defines the function (not null)
+     * @param functionName the name of the function (not null)
+     * @param bodyIds the IDs of the bodies to manage (not null, unaffected)
+     * @return a new bridge
+     */
+    public static ScriptTickBridge forFunction(Invocable invocable,
+            String functionName, int... bodyIds) {
+        TickHandler handler = (state, forces, impulses, timeStep) -> {
+            try {
+                invocable.invokeFunction(
+                        functionName, state, forces, impulses, timeStep);
+            } catch (NoSuchMethodException | ScriptException exception) {
+                throw new IllegalStateException(exception);
+            }
+        };
+        ScriptTickBridge result = new ScriptTickBridge(handler, bodyIds);
+
+        return result;
+    }
+    // *************************************************************************
+    // PhysicsTickListener methods
+
+    /**
+     * Callback invoked (by Sport-Jolt, not by Jolt Physics) after the system
+     * has been stepped.
+     *
+     * @param system the system that was just stepped (not null)
+     * @param timeStep the duration of the simulation step (in seconds, &ge;0)
+     */
+    @Override
+    public void physicsTick(PhysicsSystem system, float timeStep) {
+        // do nothing
+    }
+
+    /**
+     * Callback invoked (by Sport-Jolt, not by Jolt Physics) before the system
+     * is stepped. Gather the state of the managed bodies, invoke the handler,
+     * and apply its commands.
+     *
+     * @param system the system that's about to be stepped (not null)
+     * @param timeStep the duration of the simulation step (in seconds, &ge;0)
+     */
+    @Override
+    public void prePhysicsTick(PhysicsSystem system, float timeStep) {
+        int numBodies = bodyIds.length;
+        if (numBodies == 0) {
+            return;
+        }
+
+        gatherState(system);
+        Arrays.fill(forces, 0f);
+        Arrays.fill(impulses, 0f);
+
+        handler.tick(state, forces, impulses, timeStep);
+
+        if (!isAllZero(forces)) {
+            BulkBodyInterface.addForces(
+                    system, bodyIds, numBodies, FloatBuffer.wrap(forces));
+        }
+        if (!isAllZero(impulses)) {
+            BulkBodyInterface.addImpulses(
+                    system, bodyIds, numBodies, FloatBuffer.wrap(impulses));
+        }
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Copy the state of each managed body into the state array, using a
+     * single multi-body lock. Removed bodies are represented by NaNs.
+     *
+     * @param system the system containing the bodies (not null)
+     */
+    private void gatherState(PhysicsSystem system) {
+        ConstBodyLockInterface bli = system.getBodyLockInterface();
+        try (BodyLockMultiRead lock = new BodyLockMultiRead(bli, bodyIds)) {
+            for (int i = 0; i < bodyIds.length; ++i) {
+                int offset = floatsPerState * i;
+                ConstBody body = lock.getBody(i);
+                if (body == null) { // invalid or removed body ID
+                    Arrays.fill(state, offset, offset + floatsPerState,
+                            Float.NaN);
+                    continue;
+                }
+
+                RVec3Arg location = body.getPosition();
+                state[offset] = location.x();
+                state[offset + 1] = location.y();
+                state[offset + 2] = location.z();
+
+                Vec3Arg linearVelocity = body.getLinearVelocity();
+                state[offset + 3] = linearVelocity.getX();
+                state[offset + 4] = linearVelocity.getY();
+                state[offset + 5] = linearVelocity.getZ();
+
+                Vec3Arg angularVelocity = body.getAngularVelocity();
+                state[offset + 6] = angularVelocity.getX();
+                state[offset + 7] = angularVelocity.getY();
+                state[offset + 8] = angularVelocity.getZ();
+            }
+        }
+    }
+
+    /**
+     * Test whether every element of the specified array is zero.
+     *
+     * @param array the array to test (not null, unaffected)
+     * @return true if all zero, otherwise false
+     */
+    private static boolean isAllZero(float[] array) {
+        for (float element : array) {
+            if (element != 0f) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+    // *************************************************************************
+    // nested classes
+
+    /**
+     * Script code invoked once per physics tick with the state of all managed
+     * bodies. Script engines can usually implement this interface with a
+     * function or closure.
+     */
+    @FunctionalInterface
+    public interface TickHandler {
+        /**
+         * Examine the state of the managed bodies and store commands.
+         *
+         * @param state the state of each body (9 floats per body, not null,
+         * don't modify)
+         * @param forces storage for forces to apply (3 floats per body,
+         * initially zero, not null)
+         * @param impulses storage for impulses to apply (3 floats per body,
+         * initially zero, not null)
+         * @param timeStep the duration of the upcoming step (in seconds,
+         * &ge;0)
+         */
+        void tick(float[] state, float[] forces, float[] impulses,
+                float timeStep);
+    }
+}
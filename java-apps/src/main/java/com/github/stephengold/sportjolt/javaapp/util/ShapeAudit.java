@@ -0,0 +1,577 @@
+/*
+ Copyright (c) 2026 Stephen Gold and Yanis Boudiaf
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+    list of conditions and the following disclaimer.
+
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+    this list of conditions and the following disclaimer in the documentation
+    and/or other materials provided with the distribution.
+
+ 3. Neither the name of the copyright holder nor the names of its
+    contributors may be used to endorse or promote products derived from
+    this software without specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.github.stephengold.sportjolt.javaapp.util;
+
+import com.github.stephengold.joltjni.BoxShape;
+import com.github.stephengold.joltjni.CapsuleShape;
+import com.github.stephengold.joltjni.CompoundShape;
+import com.github.stephengold.joltjni.CompoundShapeSettings;
+import com.github.stephengold.joltjni.ConvexHullShape;
+import com.github.stephengold.joltjni.DecoratedShape;
+import com.github.stephengold.joltjni.MutableCompoundShape;
+import com.github.stephengold.joltjni.MutableCompoundShapeSettings;
+import com.github.stephengold.joltjni.OffsetCenterOfMassShape;
+import com.github.stephengold.joltjni.OffsetCenterOfMassShapeSettings;
+import com.github.stephengold.joltjni.Quat;
+import com.github.stephengold.joltjni.RotatedTranslatedShape;
+import com.github.stephengold.joltjni.RotatedTranslatedShapeSettings;
+import com.github.stephengold.joltjni.ScaledShape;
+import com.github.stephengold.joltjni.ScaledShapeSettings;
+import com.github.stephengold.joltjni.ShapeRefC;
+import com.github.stephengold.joltjni.ShapeSettings;
+import com.github.stephengold.joltjni.ShapeStats;
+import com.github.stephengold.joltjni.SphereShape;
+import com.github.stephengold.joltjni.StaticCompoundShape;
+import com.github.stephengold.joltjni.StaticCompoundShapeSettings;
+import com.github.stephengold.joltjni.Vec3;
+import com.github.stephengold.joltjni.enumerate.EShapeSubType;
+import com.github.stephengold.joltjni.operator.Op;
+import com.github.stephengold.joltjni.readonly.ConstShape;
+import com.github.stephengold.joltjni.readonly.ConstSubShape;
+import com.github.stephengold.joltjni.readonly.QuatArg;
+import com.github.stephengold.joltjni.readonly.Vec3Arg;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Utility methods to report the cost indicators of collision shapes and to
+ * replace convex hulls with cheaper primitives.
+ * <p>
+ * The audit walks the shape hierarchy (through compounds and decorated
+ * shapes) and reports, for each shape, its type, its depth in the
+ * hierarchy, its hull point and face counts (for convex hulls), and its
+ * memory size and triangle count from Jolt Physics's shape statistics.
+ * <p>
+ * Substitution fits a sphere, a capsule, and a sharp-edged box around the
+ * points of a convex hull. The fit error is the excess volume of the
+ * primitive relative to the hull. The cheapest primitive whose error is
+ * within the tolerance wins. Since each primitive encloses the hull,
+ * substitution never lets bodies interpenetrate more than before, but the
+ * collision surface (and mass properties) grow by the fit error. Hulls
+ * nested in static compounds, mutable compounds, and rotated-translated,
+ * scaled, or offset-center-of-mass shapes are replaced too, by rebuilding
+ * their ancestors.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+final public class ShapeAudit {
+    // *************************************************************************
+    // constructors
+
+    /**
+     * A private constructor to inhibit instantiation of this class.
+     */
+    private ShapeAudit() {
+        // do nothing
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Audit the specified shape and all its descendants.
+     *
+     * @param shape the root of the hierarchy (not null, unaffected)
+     * @return a new list of entries, in depth-first order
+     */
+    public static List<Entry> audit(ConstShape shape) {
+        List<Entry> result = new ArrayList<>(8);
+        audit(shape, 0, result);
+
+        return result;
+    }
+
+    /**
+     * Generate a textual report on the specified shape and all its
+     * descendants, one line per shape, indented by depth.
+     *
+     * @param shape the root of the hierarchy (not null, unaffected)
+     * @return a new multi-line string (not null, not empty)
+     */
+    public static String report(ConstShape shape) {
+        StringBuilder result = new StringBuilder(256);
+        for (Entry entry : audit(shape)) {
+            result.append(entry).append(System.lineSeparator());
+        }
+
+        return result.toString();
+    }
+
+    /**
+     * Replace each convex hull in the specified hierarchy with a cheaper
+     * primitive that approximates it within the specified tolerance, where
+     * one fits.
+     *
+     * @param shape the root of the hierarchy (not null, unaffected)
+     * @param tolerance the maximum excess volume, as a fraction of each hull's
+     * volume (&ge;0)
+     * @return a new counted reference to a substitute shape with the same
+     * local coordinates, or null if no hull in the hierarchy was replaced
+     */
+    public static ShapeRefC substitute(ConstShape shape, float tolerance) {
+        ConstShape target = target(shape);
+        ShapeRefC result;
+        if (target instanceof ConvexHullShape) {
+            result = substituteHull((ConvexHullShape) target, tolerance);
+        } else if (target instanceof CompoundShape) {
+            result = substituteChildren((CompoundShape) target, tolerance);
+        } else if (target instanceof DecoratedShape) {
+            result = substituteInner((DecoratedShape) target, tolerance);
+        } else {
+            result = null;
+        }
+
+        return result;
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Append entries for the specified shape and its descendants.
+     *
+     * @param shape the shape to audit (not null, unaffected)
+     * @param depth the depth of the shape in the hierarchy (&ge;0)
+     * @param addResult storage for the entries (not null, added to)
+     */
+    private static void audit(
+            ConstShape shape, int depth, List<Entry> addResult) {
+        ConstShape target = target(shape);
+        addResult.add(new Entry(target, depth));
+
+        if (target instanceof CompoundShape) {
+            CompoundShape compound = (CompoundShape) target;
+            int numSubShapes = compound.getNumSubShapes();
+            for (int i = 0; i < numSubShapes; ++i) {
+                ConstShape child = compound.getSubShape(i).getShape();
+                audit(child, depth + 1, addResult);
+            }
+        } else if (target instanceof DecoratedShape) {
+            ConstShape inner = ((DecoratedShape) target).getInnerShape();
+            audit(inner, depth + 1, addResult);
+        }
+    }
+
+    /**
+     * Translate and rotate the specified primitive into shape coordinates.
+     * If no transform is needed, the primitive is returned undecorated.
+     *
+     * @param primitive the primitive, centered on its origin (not null)
+     * @param offset the desired center (not null, unaffected)
+     * @param rotation the desired rotation (not null, unaffected)
+     * @return a new counted reference (not null)
+     */
+    private static ShapeRefC place(
+            ConstShape primitive, Vec3Arg offset, Quat rotation) {
+        boolean isCentered = offset.getX() == 0f && offset.getY() == 0f
+                && offset.getZ() == 0f;
+        boolean isUnrotated = rotation.getW() == 1f;
+
+        ShapeRefC result;
+        if (isCentered && isUnrotated) {
+            result = primitive.toRefC();
+        } else {
+            RotatedTranslatedShapeSettings settings
+                    = new RotatedTranslatedShapeSettings(
+                            offset, rotation, primitive);
+            result = ShapeCooker.cookNow(settings);
+        }
+
+        return result;
+    }
+
+    /**
+     * Calculate the distance of the specified point from the specified
+     * coordinate axis.
+     *
+     * @param points the point coordinates (3 floats per point, not null,
+     * unaffected)
+     * @param index the index of the point (&ge;0)
+     * @param axis which axis (0, 1, or 2)
+     * @return the distance (&ge;0)
+     */
+    private static float radialDistance(float[] points, int index, int axis) {
+        double sumSquares = 0.;
+        for (int a = 0; a < 3; ++a) {
+            if (a != axis) {
+                float c = points[3 * index + a];
+                sumSquares += c * c;
+            }
+        }
+        float result = (float) Math.sqrt(sumSquares);
+
+        return result;
+    }
+
+    /**
+     * Rebuild the specified compound with substitutes for its descendant
+     * hulls. Each child keeps its position, rotation, and user data.
+     *
+     * @param compound the compound to rebuild (not null, unaffected)
+     * @param tolerance the maximum excess volume, as a fraction of each hull's
+     * volume (&ge;0)
+     * @return a new counted reference, or null if the compound's type isn't
+     * supported or no descendant hull was replaced
+     */
+    private static ShapeRefC substituteChildren(
+            CompoundShape compound, float tolerance) {
+        CompoundShapeSettings settings;
+        if (compound instanceof MutableCompoundShape) {
+            settings = new MutableCompoundShapeSettings();
+        } else if (compound instanceof StaticCompoundShape) {
+            settings = new StaticCompoundShapeSettings();
+        } else {
+            return null;
+        }
+
+        Vec3Arg compoundCom = compound.getCenterOfMass();
+        boolean isChanged = false;
+        int numSubShapes = compound.getNumSubShapes();
+        for (int i = 0; i < numSubShapes; ++i) {
+            ConstSubShape subShape = compound.getSubShape(i);
+            ConstShape child = subShape.getShape();
+            QuatArg rotation = subShape.getRotation();
+            /*
+             * Jolt Physics stores each child's center of mass relative to the
+             * compound's, so recover the position of the child's origin:
+             */
+            Vec3 position = Op.minus(
+                    Op.plus(subShape.getPositionCom(), compoundCom),
+                    Op.star(rotation, target(child).getCenterOfMass()));
+
+            ShapeRefC replacement = substitute(child, tolerance);
+            if (replacement != null) {
+                child = replacement;
+                isChanged = true;
+            }
+            settings.addShape(
+                    position, rotation, child, subShape.getUserData());
+        }
+        if (!isChanged) {
+            return null;
+        }
+        ShapeRefC result = ShapeCooker.cookNow(settings);
+
+        return result;
+    }
+
+    /**
+     * Find a cheaper primitive that approximates the specified convex hull
+     * within the specified tolerance.
+     *
+     * @param hull the hull to replace (not null, unaffected)
+     * @param tolerance the maximum excess volume, as a fraction of the hull's
+     * volume (&ge;0)
+     * @return a new counted reference to a substitute shape with the same
+     * local coordinates, or null if no primitive fits
+     */
+    private static ShapeRefC substituteHull(
+            ConvexHullShape hull, float tolerance) {
+        float hullVolume = hull.getVolume();
+        if (hullVolume <= 0f) {
+            return null;
+        }
+
+        // Gather the points in shape coordinates:
+        int numPoints = hull.getNumPoints();
+        Vec3Arg com = hull.getCenterOfMass();
+        float[] points = new float[3 * numPoints];
+        float[] min = {Float.MAX_VALUE, Float.MAX_VALUE, Float.MAX_VALUE};
+        float[] max = {-Float.MAX_VALUE, -Float.MAX_VALUE, -Float.MAX_VALUE};
+        for (int i = 0; i < numPoints; ++i) {
+            Vec3Arg point = hull.getPoint(i);
+            points[3 * i] = point.getX() + com.getX();
+            points[3 * i + 1] = point.getY() + com.getY();
+            points[3 * i + 2] = point.getZ() + com.getZ();
+            for (int axis = 0; axis < 3; ++axis) {
+                min[axis] = Math.min(min[axis], points[3 * i + axis]);
+                max[axis] = Math.max(max[axis], points[3 * i + axis]);
+            }
+        }
+        float[] center = new float[3];
+        float[] halfExtents = new float[3];
+        int longAxis = 0;
+        for (int axis = 0; axis < 3; ++axis) {
+            center[axis] = 0.5f * (min[axis] + max[axis]);
+            halfExtents[axis] = 0.5f * (max[axis] - min[axis]);
+            if (halfExtents[axis] > halfExtents[longAxis]) {
+                longAxis = axis;
+            }
+        }
+        for (int i = 0; i < numPoints; ++i) { // make points center-relative
+            for (int axis = 0; axis < 3; ++axis) {
+                points[3 * i + axis] -= center[axis];
+            }
+        }
+
+        // Try the primitives from cheapest to most expensive:
+        float maxVolume = (1f + tolerance) * hullVolume;
+        Vec3 offset = new Vec3(center[0], center[1], center[2]);
+
+        float sphereRadius = 0f;
+        for (int i = 0; i < numPoints; ++i) {
+            float x = points[3 * i];
+            float y = points[3 * i + 1];
+            float z = points[3 * i + 2];
+            sphereRadius = Math.max(sphereRadius,
+                    (float) Math.sqrt(x * x + y * y + z * z));
+        }
+        float sphereVolume = (float) (4. / 3. * Math.PI
+                * sphereRadius * sphereRadius * sphereRadius);
+        if (sphereVolume <= maxVolume && sphereRadius > 0f) {
+            return place(new SphereShape(sphereRadius), offset, new Quat());
+        }
+
+        // Fit a capsule along the longest axis:
+        float radius = 0f;
+        for (int i = 0; i < numPoints; ++i) {
+            radius = Math.max(radius, radialDistance(points, i, longAxis));
+        }
+        float halfHeight = 0f;
+        for (int i = 0; i < numPoints; ++i) {
+            float d = radialDistance(points, i, longAxis);
+            float reachSquared = Math.max(0f, radius * radius - d * d);
+            float reach = (float) Math.sqrt(reachSquared);
+            float t = Math.abs(points[3 * i + longAxis]);
+            halfHeight = Math.max(halfHeight, t - reach);
+        }
+        float capsuleVolume = (float) (Math.PI * radius * radius
+                * (2f * halfHeight + 4f / 3f * radius));
+        if (capsuleVolume <= maxVolume && radius > 0f && halfHeight > 0f) {
+            Quat rotation; // Jolt Physics capsules are aligned with the Y axis
+            if (longAxis == 0) {
+                rotation = Quat.sRotation(Vec3.sAxisZ(), (float) Math.PI / 2f);
+            } else if (longAxis == 2) {
+                rotation = Quat.sRotation(Vec3.sAxisX(), (float) Math.PI / 2f);
+            } else {
+                rotation = new Quat();
+            }
+            return place(new CapsuleShape(halfHeight, radius), offset,
+                    rotation);
+        }
+
+        // Fit an axis-aligned box:
+        float boxVolume = 8f * halfExtents[0] * halfExtents[1] * halfExtents[2];
+        float minHalfExtent = Math.min(halfExtents[0],
+                Math.min(halfExtents[1], halfExtents[2]));
+        if (boxVolume <= maxVolume && minHalfExtent > 0f) {
+            /*
+             * A convex radius would round the box's edges and corners,
+             * letting hull points poke out, so keep the box sharp:
+             */
+            Vec3 boxHalfExtents
+                    = new Vec3(halfExtents[0], halfExtents[1], halfExtents[2]);
+            return place(new BoxShape(boxHalfExtents, 0f), offset,
+                    new Quat());
+        }
+
+        return null;
+    }
+
+    /**
+     * Rebuild the specified decorated shape with a substitute for its inner
+     * shape. The decoration (transform, scale, or center-of-mass offset) is
+     * preserved.
+     *
+     * @param decorated the decorated shape to rebuild (not null, unaffected)
+     * @param tolerance the maximum excess volume, as a fraction of each hull's
+     * volume (&ge;0)
+     * @return a new counted reference, or null if the decoration isn't
+     * supported or no descendant hull was replaced
+     */
+    private static ShapeRefC substituteInner(
+            DecoratedShape decorated, float tolerance) {
+        ShapeRefC inner = substitute(decorated.getInnerShape(), tolerance);
+        if (inner == null) {
+            return null;
+        }
+
+        ShapeSettings settings;
+        if (decorated instanceof RotatedTranslatedShape) {
+            RotatedTranslatedShape rts = (RotatedTranslatedShape) decorated;
+            settings = new RotatedTranslatedShapeSettings(
+                    rts.getPosition(), rts.getRotation(), inner);
+        } else if (decorated instanceof ScaledShape) {
+            Vec3Arg scale = ((ScaledShape) decorated).getScale();
+            settings = new ScaledShapeSettings(inner, scale);
+        } else if (decorated instanceof OffsetCenterOfMassShape) {
+            Vec3Arg offset = ((OffsetCenterOfMassShape) decorated).getOffset();
+            settings = new OffsetCenterOfMassShapeSettings(offset, inner);
+        } else {
+            return null;
+        }
+        ShapeRefC result = ShapeCooker.cookNow(settings);
+
+        return result;
+    }
+
+    /**
+     * Dereference the specified shape if it's a counted reference.
+     *
+     * @param shape the shape or reference (not null)
+     * @return the referenced shape (not null)
+     */
+    private static ConstShape target(ConstShape shape) {
+        ConstShape result = shape;
+        if (shape instanceof ShapeRefC) {
+            result = ((ShapeRefC) shape).getPtr();
+        }
+
+        return result;
+    }
+    // *************************************************************************
+    // nested classes
+
+    /**
+     * Cost indicators for a single shape in a hierarchy.
+     */
+    final public static class Entry {
+        /**
+         * depth in the hierarchy (0 for the root)
+         */
+        final private int depth;
+        /**
+         * number of hull faces (0 if not a convex hull)
+         */
+        final private int numFaces;
+        /**
+         * number of hull points (0 if not a convex hull)
+         */
+        final private int numPoints;
+        /**
+         * number of triangles, according to the shape statistics
+         */
+        final private int numTriangles;
+        /**
+         * memory used by the shape and its descendants (in bytes), according
+         * to the shape statistics
+         */
+        final private long sizeBytes;
+        /**
+         * the shape's subtype
+         */
+        final private EShapeSubType subType;
+
+        /**
+         * Instantiate an entry for the specified shape.
+         *
+         * @param shape the shape to describe (not null, unaffected)
+         * @param depth the depth in the hierarchy (&ge;0)
+         */
+        Entry(ConstShape shape, int depth) {
+            this.depth = depth;
+            this.subType = shape.getSubType();
+            if (shape instanceof ConvexHullShape) {
+                ConvexHullShape hull = (ConvexHullShape) shape;
+                this.numFaces = hull.getNumFaces();
+                this.numPoints = hull.getNumPoints();
+            } else {
+                this.numFaces = 0;
+                this.numPoints = 0;
+            }
+            ShapeStats stats = shape.getStats();
+            this.numTriangles = stats.getNumTriangles();
+            this.sizeBytes = stats.getSizeBytes();
+        }
+
+        /**
+         * Return the depth in the hierarchy.
+         *
+         * @return the depth (&ge;0, 0 for the root)
+         */
+        public int depth() {
+            return depth;
+        }
+
+        /**
+         * Return the number of hull faces.
+         *
+         * @return the count (&ge;0, 0 if not a convex hull)
+         */
+        public int numFaces() {
+            return numFaces;
+        }
+
+        /**
+         * Return the number of hull points.
+         *
+         * @return the count (&ge;0, 0 if not a convex hull)
+         */
+        public int numPoints() {
+            return numPoints;
+        }
+
+        /**
+         * Return the number of triangles.
+         *
+         * @return the count (&ge;0)
+         */
+        public int numTriangles() {
+            return numTriangles;
+        }
+
+        /**
+         * Return the memory used by the shape and its descendants.
+         *
+         * @return the size (in bytes, &ge;0)
+         */
+        public long sizeBytes() {
+            return sizeBytes;
+        }
+
+        /**
+         * Return the shape's subtype.
+         *
+         * @return the enum value (not null)
+         */
+        public EShapeSubType subType() {
+            return subType;
+        }
+
+        /**
+         * Represent the entry as a text string.
+         *
+         * @return descriptive text (not null, not empty)
+         */
+        @Override
+        public String toString() {
+            StringBuilder result = new StringBuilder(80);
+            for (int i = 0; i < depth; ++i) {
+                result.append("  ");
+            }
+            result.append(subType);
+            if (numPoints > 0) {
+                result.append(String.format(" points=%d faces=%d",
+                        numPoints, numFaces));
+            }
+            result.append(String.format(" triangles=%d bytes=%d",
+                    numTriangles, sizeBytes));
+
+            return result.toString();
+        }
+    }
+}
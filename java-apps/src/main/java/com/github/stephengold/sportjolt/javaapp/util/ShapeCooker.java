@@ -0,0 +1,152 @@
+/*
+ Copyright (c) 2026 Stephen Gold and Yanis Boudiaf
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+    list of conditions and the following disclaimer.
+
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+    this list of conditions and the following disclaimer in the documentation
+    and/or other materials provided with the distribution.
+
+ 3. Neither the name of the copyright holder nor the names of its
+    contributors may be used to endorse or promote products derived from
+    this software without specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.github.stephengold.sportjolt.javaapp.util;
+
+import com.github.stephengold.joltjni.ShapeRefC;
+import com.github.stephengold.joltjni.ShapeResult;
+import com.github.stephengold.joltjni.ShapeSettings;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Cook shape settings into shapes in parallel, for example while loading a
+ * scene with many unique convex hulls, meshes, and height fields.
+ * <p>
+ * Each settings object is cooked by a separate task, and its shape is
+ * delivered through a future. A cooking error completes that shape's future
+ * exceptionally with an {@code IllegalArgumentException}, without affecting
+ * the other shapes in the batch.
+ * <p>
+ * Jolt Physics caches the result of cooking in each settings object, so a
+ * settings object mustn't be modified or cooked elsewhere while its task is
+ * pending.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+final public class ShapeCooker {
+    // *************************************************************************
+    // fields
+
+    /**
+     * executor that runs the cooking tasks
+     */
+    final private ExecutorService executor;
+    // *************************************************************************
+    // constructors
+
+    /**
+     * Instantiate a cooker that uses the common fork-join pool.
+     */
+    public ShapeCooker() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Instantiate a cooker that uses the specified executor.
+     *
+     * @param executor the executor to run cooking tasks (not null, alias
+     * created)
+     */
+    public ShapeCooker(ExecutorService executor) {
+        this.executor = executor;
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Wait for the specified futures to complete and return their shapes,
+     * substituting null for any shape that failed to cook.
+     *
+     * @param futures the futures to wait for (not null, unaffected)
+     * @return a new list of shapes, in the same order as the futures
+     */
+    public static List<ShapeRefC> awaitAll(
+            List<CompletableFuture<ShapeRefC>> futures) {
+        List<ShapeRefC> result = new ArrayList<>(futures.size());
+        for (CompletableFuture<ShapeRefC> future : futures) {
+            ShapeRefC shape = future.exceptionally((exception) -> null).join();
+            result.add(shape);
+        }
+
+        return result;
+    }
+
+    /**
+     * Start cooking the specified settings.
+     *
+     * @param settings the settings to cook (not null)
+     * @return a new future for the resulting shape
+     */
+    public CompletableFuture<ShapeRefC> cook(ShapeSettings settings) {
+        CompletableFuture<ShapeRefC> result = CompletableFuture.supplyAsync(
+                () -> cookNow(settings), executor);
+        return result;
+    }
+
+    /**
+     * Start cooking each of the specified settings.
+     *
+     * @param settingsList the settings to cook (not null, unaffected)
+     * @return a new list of futures, in iteration order
+     */
+    public List<CompletableFuture<ShapeRefC>> cookAll(
+            Collection<? extends ShapeSettings> settingsList) {
+        List<CompletableFuture<ShapeRefC>> result
+                = new ArrayList<>(settingsList.size());
+        for (ShapeSettings settings : settingsList) {
+            result.add(cook(settings));
+        }
+
+        return result;
+    }
+
+    /**
+     * Cook the specified settings on the current thread.
+     *
+     * @param settings the settings to cook (not null)
+     * @return a new counted reference to the resulting shape (not null)
+     * @throws IllegalArgumentException if cooking fails
+     */
+    public static ShapeRefC cookNow(ShapeSettings settings) {
+        ShapeResult shapeResult = settings.create();
+        if (shapeResult.hasError()) {
+            String message = shapeResult.getError();
+            throw new IllegalArgumentException(
+                    "Failed to cook a " + settings.getClass().getSimpleName()
+                    + ":  " + message);
+        }
+        ShapeRefC result = shapeResult.get();
+
+        return result;
+    }
+}
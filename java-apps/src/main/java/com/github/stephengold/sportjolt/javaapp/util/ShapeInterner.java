@@ -0,0 +1,291 @@
+/*
+ Copyright (c) 2026 Stephen Gold and Yanis Boudiaf
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+    list of conditions and the following disclaimer.
+
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+    this list of conditions and the following disclaimer in the documentation
+    and/or other materials provided with the distribution.
+
+ 3. Neither the name of the copyright holder nor the names of its
+    contributors may be used to endorse or promote products derived from
+    this software without specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.github.stephengold.sportjolt.javaapp.util;
+
+import com.github.stephengold.joltjni.BoxShape;
+import com.github.stephengold.joltjni.CapsuleShape;
+import com.github.stephengold.joltjni.Plane;
+import com.github.stephengold.joltjni.PlaneShape;
+import com.github.stephengold.joltjni.ShapeRefC;
+import com.github.stephengold.joltjni.SphereShape;
+import com.github.stephengold.joltjni.Vec3;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Share primitive shapes that have identical parameters, so that (for
+ * instance) 100,000 identical crates use a single native shape.
+ * <p>
+ * Shapes are keyed by type and the exact bits of their parameters. The
+ * interner holds one counted reference to each shape and returns a new
+ * counted reference on each request. {@link #evictUnused()} releases shapes
+ * that are referenced only by the interner. A shape stays alive while it's
+ * used by any body, even after eviction. Unused references returned to the
+ * caller still count until they're closed or garbage collected.
+ * <p>
+ * Instances are thread-safe.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+final public class ShapeInterner {
+    // *************************************************************************
+    // fields
+
+    /**
+     * number of requests satisfied by an existing shape
+     */
+    private long numHits;
+    /**
+     * number of requests that created a new shape
+     */
+    private long numMisses;
+    /**
+     * interned shapes, each with one reference held by this interner
+     */
+    final private Map<Key, ShapeRefC> shapes = new HashMap<>(64);
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Return a box shape with the specified half extents and the default
+     * convex radius.
+     *
+     * @param halfX the half extent on the local X axis (&gt;0)
+     * @param halfY the half extent on the local Y axis (&gt;0)
+     * @param halfZ the half extent on the local Z axis (&gt;0)
+     * @return a new counted reference to a shared shape (not null)
+     */
+    public ShapeRefC box(float halfX, float halfY, float halfZ) {
+        Key key = new Key("box", halfX, halfY, halfZ);
+        ShapeRefC result = intern(key,
+                () -> new BoxShape(new Vec3(halfX, halfY, halfZ)).toRefC());
+        return result;
+    }
+
+    /**
+     * Return a capsule shape with the specified dimensions.
+     *
+     * @param halfHeight half the height of the cylindrical portion (&ge;0)
+     * @param radius the radius (&gt;0)
+     * @return a new counted reference to a shared shape (not null)
+     */
+    public ShapeRefC capsule(float halfHeight, float radius) {
+        Key key = new Key("capsule", halfHeight, radius);
+        ShapeRefC result = intern(key,
+                () -> new CapsuleShape(halfHeight, radius).toRefC());
+        return result;
+    }
+
+    /**
+     * Release every interned shape.
+     */
+    public synchronized void clear() {
+        for (ShapeRefC ref : shapes.values()) {
+            ref.close();
+        }
+        shapes.clear();
+    }
+
+    /**
+     * Count the interned shapes.
+     *
+     * @return the count (&ge;0)
+     */
+    public synchronized int countShapes() {
+        int result = shapes.size();
+        return result;
+    }
+
+    /**
+     * Release interned shapes that are referenced only by this interner.
+     *
+     * @return the number of shapes released (&ge;0)
+     */
+    public synchronized int evictUnused() {
+        int result = 0;
+        Iterator<ShapeRefC> iterator = shapes.values().iterator();
+        while (iterator.hasNext()) {
+            ShapeRefC ref = iterator.next();
+            if (ref.getPtr().getRefCount() <= 1) {
+                ref.close();
+                iterator.remove();
+                ++result;
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Return the fraction of requests satisfied by an existing shape.
+     *
+     * @return the fraction (&ge;0, &le;1)
+     */
+    public synchronized double hitRatio() {
+        long numRequests = numHits + numMisses;
+        double result = (numRequests == 0L)
+                ? 0. : numHits / (double) numRequests;
+        return result;
+    }
+
+    /**
+     * Return a plane shape with the specified plane and the default half
+     * extent.
+     *
+     * @param normalX the X component of the unit normal
+     * @param normalY the Y component of the unit normal
+     * @param normalZ the Z component of the unit normal
+     * @param constant the plane constant
+     * @return a new counted reference to a shared shape (not null)
+     */
+    public ShapeRefC plane(
+            float normalX, float normalY, float normalZ, float constant) {
+        Key key = new Key("plane", normalX, normalY, normalZ, constant);
+        ShapeRefC result = intern(key, () -> new PlaneShape(
+                new Plane(normalX, normalY, normalZ, constant)).toRefC());
+        return result;
+    }
+
+    /**
+     * Return a sphere shape with the specified radius.
+     *
+     * @param radius the radius (&gt;0)
+     * @return a new counted reference to a shared shape (not null)
+     */
+    public ShapeRefC sphere(float radius) {
+        Key key = new Key("sphere", radius);
+        ShapeRefC result
+                = intern(key, () -> new SphereShape(radius).toRefC());
+        return result;
+    }
+    // *************************************************************************
+    // Object methods
+
+    /**
+     * Represent the interner as a text string.
+     *
+     * @return descriptive text (not null, not empty)
+     */
+    @Override
+    public synchronized String toString() {
+        String result = String.format("shapes=%d hits=%d misses=%d",
+                shapes.size(), numHits, numMisses);
+        return result;
+    }
+    // *************************************************************************
+    // private methods
+
+    /**
+     * Return the shape for the specified key, creating it if necessary.
+     *
+     * @param key the shape's key (not null)
+     * @param factory to create the shape if it's not interned (not null)
+     * @return a new counted reference to the shared shape (not null)
+     */
+    private synchronized ShapeRefC intern(
+            Key key, Supplier<ShapeRefC> factory) {
+        ShapeRefC interned = shapes.get(key);
+        if (interned == null) {
+            interned = factory.get();
+            shapes.put(key, interned);
+            ++numMisses;
+        } else {
+            ++numHits;
+        }
+        ShapeRefC result = interned.getPtr().toRefC();
+
+        return result;
+    }
+    // *************************************************************************
+    // nested classes
+
+    /**
+     * The type and parameters of an interned shape.
+     */
+    final private static class Key {
+        /**
+         * raw bits of the parameters
+         */
+        final private int[] paramBits;
+        /**
+         * name of the shape type
+         */
+        final private String type;
+
+        /**
+         * Instantiate a key.
+         *
+         * @param type the name of the shape type (not null)
+         * @param params the shape parameters (not null, unaffected)
+         */
+        Key(String type, float... params) {
+            this.type = type;
+            this.paramBits = new int[params.length];
+            for (int i = 0; i < params.length; ++i) {
+                paramBits[i] = Float.floatToIntBits(params[i]);
+            }
+        }
+
+        /**
+         * Test for equality with another object.
+         *
+         * @param otherObject the object to compare (may be null)
+         * @return true if the keys are equal, otherwise false
+         */
+        @Override
+        public boolean equals(Object otherObject) {
+            boolean result;
+            if (otherObject == this) {
+                result = true;
+            } else if (otherObject instanceof Key) {
+                Key other = (Key) otherObject;
+                result = type.equals(other.type)
+                        && Arrays.equals(paramBits, other.paramBits);
+            } else {
+                result = false;
+            }
+
+            return result;
+        }
+
+        /**
+         * Generate the hash code for this key.
+         *
+         * @return a 32-bit value for use in hashing
+         */
+        @Override
+        public int hashCode() {
+            int result = 31 * type.hashCode() + Arrays.hashCode(paramBits);
+            return result;
+        }
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ Copyright (c) 2026 Stephen Gold and Yanis Boudiaf
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+    list of conditions and the following disclaimer.
+
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+    this list of conditions and the following disclaimer in the documentation
+    and/or other materials provided with the distribution.
+
+ 3. Neither the name of the copyright holder nor the names of its
+    contributors may be used to endorse or promote products derived from
+    this software without specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.github.stephengold.sportjolt.javaapp.util;
+
+import com.github.stephengold.joltjni.BodyLockMultiRead;
+import com.github.stephengold.joltjni.JobSystem;
+import com.github.stephengold.joltjni.PhysicsSystem;
+import com.github.stephengold.joltjni.TempAllocator;
+import com.github.stephengold.joltjni.readonly.ConstBody;
+import com.github.stephengold.joltjni.readonly.ConstBodyLockInterface;
+import com.github.stephengold.joltjni.readonly.RVec3Arg;
+import java.nio.FloatBuffer;
+
+/**
+ * Step a physics system repeatedly and record the trajectories of selected
+ * bodies, so a script can simulate many steps with a single call and only
+ * post-process the results.
+ * <p>
+ * Each sample occupies 3 floats: the location (x, y, z) of one body in
+ * system coordinates after one step. Samples are ordered by step, then by
+ * body, in the same order as the body IDs. Locations are read while holding
+ * a single {@code BodyLockMultiRead} per step.
+ *
+ * @author Stephen Gold sgold@sonic.net
+ */
+final public class StepRecorder {
+    // *************************************************************************
+    // constants
+
+    /**
+     * number of floats per sample
+     */
+    final public static int floatsPerSample = 3;
+    // *************************************************************************
+    // fields
+
+    /**
+     * bitwise OR of the errors returned by {@code update()} during the most
+     * recent recording
+     */
+    private int lastErrors;
+    /**
+     * IDs of the recorded bodies
+     */
+    final private int[] bodyIds;
+    // *************************************************************************
+    // constructors
+
+    /**
+     * Instantiate a recorder for the specified bodies.
+     *
+     * @param bodyIds the IDs of the bodies to record (not null, unaffected)
+     */
+    public StepRecorder(int... bodyIds) {
+        this.bodyIds = bodyIds.clone();
+    }
+    // *************************************************************************
+    // new methods exposed
+
+    /**
+     * Return the number of recorded bodies.
+     *
+     * @return the count (&ge;0)
+     */
+    public int countBodies() {
+        int result = bodyIds.length;
+        return result;
+    }
+
+    /**
+     * Return the errors from the most recent recording.
+     *
+     * @return the bitwise OR of the {@code EPhysicsUpdateError} values
+     * returned by each step (0 if none)
+     */
+    public int lastErrors() {
+        return lastErrors;
+    }
+
+    /**
+     * Step the specified system and record the trajectories in a new array.
+     *
+     * @param system the system to step (not null)
+     * @param numSteps the number of steps to simulate (&ge;0)
+     * @param timePerStep the duration of each step (in seconds, &gt;0)
+     * @param tempAllocator the allocator to use (not null)
+     * @param jobSystem the job system to use (not null)
+     * @return a new array of samples (length = 3 x numSteps x
+     * countBodies())
+     */
+    public float[] record(PhysicsSystem system, int numSteps,
+            float timePerStep, TempAllocator tempAllocator,
+            JobSystem jobSystem) {
+        float[] result = new float[floatsPerSample * numSteps * bodyIds.length];
+        FloatBuffer wrapper = FloatBuffer.wrap(result);
+        record(system, numSteps, timePerStep, tempAllocator, jobSystem,
+                wrapper);
+
+        return result;
+    }
+
+    /**
+     * Step the specified system and record the trajectories in the specified
+     * buffer, starting at its current position.
+     *
+     * @param system the system to step (not null)
+     * @param numSteps the number of steps to simulate (&ge;0)
+     * @param timePerStep the duration of each step (in seconds, &gt;0)
+     * @param tempAllocator the allocator to use (not null)
+     * @param jobSystem the job system to use (not null)
+     * @param storeResult storage for the samples (not null, at least 3 x
+     * numSteps x countBodies() floats remaining, modified)
+     */
+    public void record(PhysicsSystem system, int numSteps, float timePerStep,
+            TempAllocator tempAllocator, JobSystem jobSystem,
+            FloatBuffer storeResult) {
+        int numBodies = bodyIds.length;
+        assert numSteps >= 0 : numSteps;
+        assert timePerStep > 0f : timePerStep;
+        assert storeResult.remaining() >= floatsPerSample * numSteps
+                * numBodies : storeResult.remaining();
+
+        lastErrors = 0;
+        ConstBodyLockInterface bli = system.getBodyLockInterface();
+        int collisionSteps = 1;
+        for (int step = 0; step < numSteps; ++step) {
+            lastErrors |= system.update(
+                    timePerStep, collisionSteps, tempAllocator, jobSystem);
+
+            try (BodyLockMultiRead lock = new BodyLockMultiRead(bli, bodyIds)) {
+                for (int i = 0; i < numBodies; ++i) {
+                    ConstBody body = lock.getBody(i);
+                    if (body == null) { // the body was removed
+                        storeResult.put(Float.NaN);
+                        storeResult.put(Float.NaN);
+                        storeResult.put(Float.NaN);
+                    } else {
+                        RVec3Arg location = body.getPosition();
+                        storeResult.put(location.x());
+                        storeResult.put(location.y());
+                        storeResult.put(location.z());
+                    }
+                }
+            }
+        }
+    }
+}
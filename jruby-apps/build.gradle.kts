@@ -25,6 +25,13 @@ tasks.register<JavaExec>("HelloJoltJni") {
          "../class-lists/snap-loader-classes.txt")
     description = "Runs the JRuby port of the HelloJoltJni console app."
 }
+tasks.register<JavaExec>("HelloJoltJniBench") {
+    args("--bench", "5",
+         "jruby", "scripts/bench/HelloJoltJniBench.rb",
+         "../class-lists/jolt-jni-classes.txt",
+         "../class-lists/snap-loader-classes.txt")
+    description = "Benchmarks the JRuby port of the HelloJoltJni console app."
+}
 
 // physics tutorial apps (very simple)
 tasks.register<JavaExec>("HelloRigidBody") {
@@ -0,0 +1,189 @@
+=begin
+ Copyright (c) 2026 Stephen Gold and Yanis Boudiaf
+
+ Redistribution and use in source and binary forms, with or without
+ modification, are permitted provided that the following conditions are met:
+
+ 1. Redistributions of source code must retain the above copyright notice, this
+    list of conditions and the following disclaimer.
+
+ 2. Redistributions in binary form must reproduce the above copyright notice,
+    this list of conditions and the following disclaimer in the documentation
+    and/or other materials provided with the distribution.
+
+ 3. Neither the name of the copyright holder nor the names of its
+    contributors may be used to endorse or promote products derived from
+    this software without specific prior written permission.
+
+ THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+=end
+
+=begin
+ * Drop a dynamic sphere onto a horizontal surface, like the HelloJoltJni
+ * console app, but suitable for benchmarks, batches, and the script daemon:
+ * initialization is skipped if the host has bound JOLT_READY, and the step
+ * loop is timed using STEP_TIMER if the host has bound it.
+ *
+ * author:  Stephen Gold sgold@sonic.net
+=end
+
+# Constants are defined only once, so that a warm engine can re-run this
+# script without warnings.
+
+# Import an additional Java class:
+java_import Java::Java.lang.Runtime
+
+# number of object layers:
+NUM_OBJ_LAYERS = 2 unless defined?(NUM_OBJ_LAYERS)
+
+# object layer for moving objects:
+OBJ_LAYER_MOVING = 0 unless defined?(OBJ_LAYER_MOVING)
+
+# object layer for non-moving objects:
+OBJ_LAYER_NONMOVING = 1 unless defined?(OBJ_LAYER_NONMOVING)
+
+
+# Create the PhysicsSystem. Invoked once during initialization.
+def create_system()
+
+    # For simplicity, use a single broadphase layer:
+    num_bp_layers = 1
+
+    ovo_filter = ObjectLayerPairFilterTable.new(NUM_OBJ_LAYERS)
+    # Enable collisions between 2 moving bodies:
+    ovo_filter.enableCollision(OBJ_LAYER_MOVING, OBJ_LAYER_MOVING)
+    # Enable collisions between a moving body and a non-moving one:
+    ovo_filter.enableCollision(OBJ_LAYER_MOVING, OBJ_LAYER_NONMOVING)
+    # Disable collisions between 2 non-moving bodies:
+    ovo_filter.disableCollision(OBJ_LAYER_NONMOVING, OBJ_LAYER_NONMOVING)
+
+    # Map both object layers to broadphase layer 0:
+    layer_map = BroadPhaseLayerInterfaceTable.new(NUM_OBJ_LAYERS, num_bp_layers)
+    layer_map.mapObjectToBroadPhaseLayer(OBJ_LAYER_MOVING, 0)
+    layer_map.mapObjectToBroadPhaseLayer(OBJ_LAYER_NONMOVING, 0)
+
+    # Rules for colliding object layers with broadphase layers:
+    ovb_filter = ObjectVsBroadPhaseLayerFilterTable.new(
+        layer_map, num_bp_layers, ovo_filter, NUM_OBJ_LAYERS
+    )
+
+    result = PhysicsSystem.new()
+
+    # Set high limits, even though this sample app uses only 2 bodies:
+    max_bodies = 5000
+    num_body_mutexes = 0  # 0 means "use the default number"
+    max_body_pairs = 65536
+    max_contacts = 20480
+    result.init(
+        max_bodies,
+        num_body_mutexes,
+        max_body_pairs,
+        max_contacts,
+        layer_map,
+        ovb_filter,
+        ovo_filter
+    )
+
+    result
+end
+
+
+# Populate the PhysicsSystem with bodies. Invoked once during initialization.
+def populate_system()
+
+    bi = $physics_system.getBodyInterface()
+
+    # Add a static horizontal plane at y=-1:
+    ground_y = -1
+    normal = Vec3.sAxisY()
+    plane = Plane.new(normal, -ground_y)
+    floor_shape = PlaneShape.new(plane)
+    bcs = BodyCreationSettings.new()
+    bcs.setMotionType(EMotionType::Static)
+    bcs.setObjectLayer(OBJ_LAYER_NONMOVING)
+    bcs.setShape(floor_shape)
+    floor = bi.createBody(bcs)
+    bi.addBody(floor, EActivation::DontActivate)
+
+    # Add a sphere-shaped, dynamic, rigid body at the origin:
+    ball_radius = 0.3
+    ball_shape = SphereShape.new(ball_radius)
+    bcs.setMotionType(EMotionType::Dynamic)
+    bcs.setObjectLayer(OBJ_LAYER_MOVING)
+    bcs.setShape(ball_shape)
+    $ball = bi.createBody(bcs)
+    bi.addBody($ball, EActivation::Activate)
+end
+
+
+# Skip initialization if the host (such as ScriptDaemon or RunBatch) has
+# already loaded and initialized Jolt Physics:
+unless defined?(JOLT_READY) && JOLT_READY
+    info = LibraryInfo.new(nil, "joltjni", DirectoryPath::USER_DIR)
+    loader = NativeBinaryLoader.new(info)
+
+    libraries = [
+        NativeDynamicLibrary.new("linux/aarch64/com/github/stephengold",
+            PlatformPredicate::LINUX_ARM_64),
+        NativeDynamicLibrary.new("linux/aarch64/com/github/stephengold",
+            PlatformPredicate::LINUX_ARM_64),
+        NativeDynamicLibrary.new("linux/armhf/com/github/stephengold",
+            PlatformPredicate::LINUX_ARM_32),
+        NativeDynamicLibrary.new("linux/x86-64/com/github/stephengold",
+            PlatformPredicate::LINUX_X86_64),
+        NativeDynamicLibrary.new("osx/aarch64/com/github/stephengold",
+            PlatformPredicate::MACOS_ARM_64),
+        NativeDynamicLibrary.new("osx/x86-64/com/github/stephengold",
+            PlatformPredicate::MACOS_X86_64),
+        NativeDynamicLibrary.new("windows/aarch64/com/github/stephengold",
+            PlatformPredicate::WIN_ARM_64),
+        NativeDynamicLibrary.new("windows/x86-64/com/github/stephengold",
+            PlatformPredicate::WIN_X86_64)
+    ].to_java(NativeDynamicLibrary)
+
+    loader.registerNativeLibraries(libraries).initPlatformLibrary()
+    loader.loadLibrary(LoadingCriterion::CLEAN_EXTRACTION)
+
+    # Jolt.setTraceAllocations(true) # to log Jolt-JNI heap allocations
+    JoltPhysicsObject.startCleaner()  # to reclaim native memory
+    Jolt.registerDefaultAllocator()  # tell Jolt Physics to use malloc/free
+    Jolt.installDefaultAssertCallback()
+    Jolt.installDefaultTraceCallback()
+    Jolt.newFactory()
+    Jolt.registerTypes()
+end
+
+$physics_system = create_system()
+populate_system()
+$physics_system.optimizeBroadPhase()
+
+temp_allocator = TempAllocatorMalloc.new()
+num_worker_threads = Runtime.getRuntime().availableProcessors()
+job_system = JobSystemThreadPool.new(
+    Jolt.cMaxPhysicsJobs, Jolt.cMaxPhysicsBarriers, num_worker_threads
+)
+
+num_steps = 50
+time_per_step = 0.02  # seconds
+# When benchmarking, the host binds STEP_TIMER to time the step loop:
+STEP_TIMER.start() if defined?(STEP_TIMER)
+for iteration in 1..num_steps do
+    collision_steps = 1
+    $physics_system.update(time_per_step, collision_steps, temp_allocator, job_system)
+
+    location = $ball.getPosition()
+    puts location
+end
+STEP_TIMER.stop(num_steps) if defined?(STEP_TIMER)
+
+# Terminate the worker threads:
+job_system.close()
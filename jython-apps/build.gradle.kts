@@ -25,6 +25,38 @@ tasks.register<JavaExec>("HelloJoltJni") {
          "../class-lists/snap-loader-classes.txt")
     description = "Runs the Jython port of the HelloJoltJni console app."
 }
+tasks.register<JavaExec>("HelloStepRecorder") {
+    args("jython", "scripts/console/hello_step_recorder.py",
+         "../class-lists/java-apps-util-classes.txt",
+         "../class-lists/jolt-jni-classes.txt",
+         "../class-lists/snap-loader-classes.txt")
+    description = "Runs the Jython HelloStepRecorder console app."
+}
+tasks.register<JavaExec>("HelloJoltJniBench") {
+    args("--bench", "5",
+         "jython", "scripts/bench/hello_jolt_jni_bench.py",
+         "../class-lists/jolt-jni-classes.txt",
+         "../class-lists/snap-loader-classes.txt")
+    description = "Benchmarks the Jython port of the HelloJoltJni console app."
+}
+
+tasks.register<JavaExec>("HelloJoltJniBatch") {
+    args("--classes", "../class-lists/jolt-jni-classes.txt",
+         "--classes", "../class-lists/snap-loader-classes.txt",
+         "--threads", "4", "jython",
+         "scripts/bench/hello_jolt_jni_bench.py", "scripts/bench/hello_jolt_jni_bench.py",
+         "scripts/bench/hello_jolt_jni_bench.py", "scripts/bench/hello_jolt_jni_bench.py")
+    description = "Runs 4 copies of the Jython HelloJoltJni port in one batch."
+}
+
+// daemon to run physics scripts in a warm JVM
+tasks.register<JavaExec>("ScriptDaemon") {
+    args("jython", "7300",
+         "../class-lists/jolt-jni-classes.txt",
+         "../class-lists/snap-loader-classes.txt",
+         "../class-lists/sport-jolt-classes.txt")
+    description = "Runs a daemon that accepts Jython scripts on port 7300."
+}
 
 // physics tutorial apps (very simple)
 tasks.register<JavaExec>("HelloBroadPhase") {
@@ -183,6 +215,12 @@ tasks.withType<JavaExec>().configureEach { // JVM runtime options:
     jvmArgs("-XX:+UseG1GC", "-XX:MaxGCPauseMillis=10")
     mainClass = "com.github.stephengold.jsr223.RunScript"
 }
+tasks.named<JavaExec>("HelloJoltJniBatch") {
+    mainClass = "com.github.stephengold.jsr223.RunBatch"
+}
+tasks.named<JavaExec>("ScriptDaemon") {
+    mainClass = "com.github.stephengold.jsr223.ScriptDaemon"
+}
 
 // which BTF (build type + flavor) of native physics libraries to include:
 val btf = providers.gradleProperty("btf").get()
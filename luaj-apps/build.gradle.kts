@@ -25,6 +25,20 @@ tasks.register<JavaExec>("HelloJoltJni") {
          "../class-lists/snap-loader-classes.txt")
     description = "Runs the LuaJ port of the HelloJoltJni console app."
 }
+tasks.register<JavaExec>("HelloStepRecorder") {
+    args("luaj", "scripts/console/HelloStepRecorder.lua",
+         "../class-lists/java-apps-util-classes.txt",
+         "../class-lists/jolt-jni-classes.txt",
+         "../class-lists/snap-loader-classes.txt")
+    description = "Runs the LuaJ HelloStepRecorder console app."
+}
+tasks.register<JavaExec>("HelloJoltJniBench") {
+    args("--bench", "5",
+         "luaj", "scripts/bench/HelloJoltJniBench.lua",
+         "../class-lists/jolt-jni-classes.txt",
+         "../class-lists/snap-loader-classes.txt")
+    description = "Benchmarks the LuaJ port of the HelloJoltJni console app."
+}
 
 val assertions = providers.gradleProperty("assertions").get().equals("true")
 
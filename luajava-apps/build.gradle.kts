@@ -23,6 +23,11 @@ tasks.register<JavaExec>("HelloJoltJni") {
     args("lua54", "scripts/console/HelloJoltJni.lua")
     description = "Runs the LuaJava port of the HelloJoltJni console app."
 }
+tasks.register<JavaExec>("HelloJoltJniBench") {
+    args("--bench", "5",
+         "lua54", "scripts/bench/HelloJoltJniBench.lua")
+    description = "Benchmarks the LuaJava port of the HelloJoltJni console app."
+}
 
 val assertions = providers.gradleProperty("assertions").get().equals("true")
 